@@ -0,0 +1,82 @@
+package sample.cafekiosk.spring.api.controller.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingProductsBody;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+/**
+ * 판매 상품 응답 본문을 만드는 비용. 요청마다 Jackson 으로 직렬화하던 방식과 미리 만든 바이트를 쓰는 방식.
+ * 처리량(ops/s)과 gc.alloc.rate.norm(요청당 할당 바이트)을 비교한다. Tomcat 처리 비용은 빠져 있다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SellingProductsResponseBenchmark {
+
+    @Param({"10", "200"})
+    private int productCount;
+
+    private ObjectMapper objectMapper;
+    private List<ProductResponse> products;
+    private SellingProductsBody body;
+    private ByteArrayOutputStream out; // 응답 버퍼 대신. 매번 reset 해서 재사용한다.
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ProductSellingStatus[] statuses = ProductSellingStatus.values();
+        products = new ArrayList<>();
+        for (int i = 1; i <= productCount; i++) {
+            products.add(ProductResponse.builder()
+                    .id((long) i)
+                    .productNumber(String.format("%03d", i))
+                    .type(HANDMADE)
+                    .sellingStatus(statuses[i % statuses.length])
+                    .name("메뉴 " + i)
+                    .price(1000)
+                    .build());
+        }
+        body = SellingProductsBody.encode(objectMapper, products, true);
+        out = new ByteArrayOutputStream(body.getLength(false));
+    }
+
+    @Benchmark
+    public int serializePerRequest() throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, ApiResponse.ok(products));
+        return out.size();
+    }
+
+    @Benchmark
+    public int preEncoded() throws IOException {
+        out.reset();
+        body.writeTo(out, false);
+        return out.size();
+    }
+
+    @Benchmark
+    public int preEncodedGzip() throws IOException {
+        out.reset();
+        body.writeTo(out, true);
+        return out.size();
+    }
+}
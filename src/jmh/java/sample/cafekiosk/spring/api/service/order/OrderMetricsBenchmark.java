@@ -0,0 +1,49 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단계 하나를 Timer 로 감쌀 때 늘어나는 비용. recordStage - bare 가 단계당 계측 오버헤드이고, 1us 미만이어야 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderMetricsBenchmark {
+
+    private OrderMetrics orderMetrics;
+
+    @Setup
+    public void setUp() {
+        orderMetrics = new OrderMetrics(new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void bare(Blackhole blackhole) {
+        blackhole.consume(stage());
+    }
+
+    @Benchmark
+    public void recordStage(Blackhole blackhole) {
+        blackhole.consume(orderMetrics.getDeductStock().record(this::stage));
+    }
+
+    @Benchmark
+    public void recordItemCount() {
+        orderMetrics.getItemCount().record(30);
+    }
+
+    private int stage() {
+        Blackhole.consumeCPU(64);
+        return 1;
+    }
+}
@@ -0,0 +1,120 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderLineRequest;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+
+/**
+ * OrderService 가 주문마다 만드는 상품 map / 재고 counting map 비용.
+ * distinctCount 종류의 상품을 itemCount 개 담은 주문 (e.g. 라떼 30잔 = itemCount 30, distinctCount 1)
+ *
+ * legacy* 는 상품번호를 수량만큼 반복해서 받고 stream 으로 다시 세던 이전 방식이다.
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderServiceHelperBenchmark {
+
+    @Param({"10", "50"})
+    private int itemCount;
+
+    @Param({"1", "10"})
+    private int distinctCount;
+
+    private List<Product> distinctProducts;
+    private Map<String, Product> productMap;
+    private OrderCreateRequest repeatedRequest; // productNumbers 를 수량만큼 반복
+    private OrderCreateRequest lineRequest; // orderLines
+
+    @Setup
+    public void setUp() {
+        distinctProducts = new ArrayList<>();
+        for (int i = 1; i <= distinctCount; i++) {
+            distinctProducts.add(Product.builder()
+                    .productNumber(String.format("%03d", i))
+                    .type(i % 2 == 0 ? ProductType.HANDMADE : ProductType.BOTTLE)
+                    .sellingStatus(SELLING)
+                    .name("메뉴 " + i)
+                    .price(1000)
+                    .build());
+        }
+        productMap = OrderService.toProductMap(distinctProducts);
+
+        List<String> productNumbers = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            productNumbers.add(distinctProducts.get(i % distinctCount).getProductNumber());
+        }
+        repeatedRequest = OrderCreateRequest.builder().productNumbers(productNumbers).build();
+
+        List<OrderLineRequest> orderLines = new ArrayList<>();
+        for (int i = 0; i < distinctCount; i++) {
+            int quantity = itemCount / distinctCount + (i < itemCount % distinctCount ? 1 : 0);
+            orderLines.add(OrderLineRequest.builder()
+                    .productNumber(distinctProducts.get(i).getProductNumber())
+                    .quantity(quantity)
+                    .build());
+        }
+        lineRequest = OrderCreateRequest.builder().orderLines(orderLines).build();
+    }
+
+    @Benchmark
+    public Map<String, Product> toProductMap() {
+        return OrderService.toProductMap(distinctProducts);
+    }
+
+    /**
+     * 요청 -> 주문상품 목록 + 재고 counting map 까지. (상품 조회 결과는 productMap 으로 대신한다.)
+     */
+    @Benchmark
+    public Object legacyAggregation() {
+        List<String> productNumbers = repeatedRequest.getProductNumbers();
+        List<Product> products = productNumbers.stream()
+                .map(productMap::get)
+                .toList();
+        List<String> stockProductNumbers = products.stream()
+                .filter(product -> List.of(ProductType.BOTTLE, ProductType.BAKERY).contains(product.getType()))
+                .map(Product::getProductNumber)
+                .toList();
+        Map<String, Integer> productCountingMap = stockProductNumbers.stream()
+                .collect(Collectors.groupingBy(p -> p, Collectors.summingInt(p -> 1)));
+        return new Object[]{products, productCountingMap};
+    }
+
+    @Benchmark
+    public Object repeatedProductNumbers() {
+        return aggregate(repeatedRequest);
+    }
+
+    @Benchmark
+    public Object orderLines() {
+        return aggregate(lineRequest);
+    }
+
+    private Object aggregate(OrderCreateRequest request) {
+        ProductQuantities quantities = request.toProductQuantities();
+        Product[] products = new Product[quantities.size()];
+        for (int i = 0; i < products.length; i++) {
+            products[i] = productMap.get(quantities.getProductNumber(i));
+        }
+        Map<String, Integer> productCountingMap = OrderService.createStockCountingMap(products, quantities);
+        return new Object[]{OrderService.expandProducts(products, quantities), productCountingMap};
+    }
+}
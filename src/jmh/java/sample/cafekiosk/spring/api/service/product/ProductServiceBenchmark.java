@@ -0,0 +1,83 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import sample.cafekiosk.spring.CafekioskApplication;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductCatalogVersion;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+/**
+ * H2(test 프로필) 위에서 판매 상품 조회. cached 는 카탈로그가 그대로인 경우, uncached 는 매번 카탈로그가 바뀐 경우.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductServiceBenchmark {
+
+    @Param({"10", "200"})
+    private int productCount;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ProductCatalogVersion productCatalogVersion;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CafekioskApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false")
+                .run();
+        productService = context.getBean(ProductService.class);
+        productCatalogVersion = context.getBean(ProductCatalogVersion.class);
+
+        ProductSellingStatus[] statuses = ProductSellingStatus.values();
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= productCount; i++) {
+            products.add(Product.builder()
+                    .productNumber(String.format("%03d", i))
+                    .type(HANDMADE)
+                    .sellingStatus(statuses[i % statuses.length])
+                    .name("메뉴 " + i)
+                    .price(1000)
+                    .build());
+        }
+        context.getBean(ProductRepository.class).saveAll(products);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductResponse> getSellingProductsCached() {
+        return productService.getSellingProducts();
+    }
+
+    @Benchmark
+    public List<ProductResponse> getSellingProductsUncached() {
+        productCatalogVersion.increase();
+        return productService.getSellingProducts();
+    }
+}
@@ -0,0 +1,59 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.product.Product;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int itemCount;
+
+    private List<Product> products;
+    private LocalDateTime registeredDateTime;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        products = new ArrayList<>();
+        for (int i = 1; i <= itemCount; i++) {
+            products.add(Product.builder()
+                    .productNumber(String.format("%03d", i))
+                    .type(HANDMADE)
+                    .sellingStatus(SELLING)
+                    .name("메뉴 " + i)
+                    .price(1000 + i)
+                    .build());
+        }
+        registeredDateTime = LocalDateTime.now();
+        order = Order.create(products, registeredDateTime);
+    }
+
+    @Benchmark
+    public Order create() {
+        return Order.create(products, registeredDateTime);
+    }
+
+    @Benchmark
+    public OrderResponse orderResponseOf() {
+        return OrderResponse.of(order);
+    }
+}
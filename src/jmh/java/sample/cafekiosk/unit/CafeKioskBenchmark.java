@@ -0,0 +1,47 @@
+package sample.cafekiosk.unit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sample.cafekiosk.unit.beverage.Americano;
+import sample.cafekiosk.unit.beverage.Latte;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CafeKioskBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int cupCount;
+
+    private CafeKiosk cafeKiosk;
+    private Americano americano;
+
+    @Setup
+    public void setUp() {
+        cafeKiosk = new CafeKiosk();
+        americano = new Americano();
+        cafeKiosk.add(americano, cupCount / 2);
+        cafeKiosk.add(new Latte(), cupCount - cupCount / 2);
+    }
+
+    @Benchmark
+    public int calculateTotalPrice() {
+        return cafeKiosk.calculateTotalPrice();
+    }
+
+    // 잔 수와 상관없이 일정해야 한다. (음료별 잔 수로 들고 있음)
+    @Benchmark
+    public int addAndRemove() {
+        cafeKiosk.add(americano);
+        cafeKiosk.remove(americano);
+        return cafeKiosk.getBeverageCount();
+    }
+}
@@ -0,0 +1,103 @@
+package sample.cafekiosk.spring.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 키오스크 한 대. 메뉴의 ETag 를 들고 있다가 다음 폴링에 If-None-Match 로 보낸다.
+ * 가상 스레드 하나가 한 대를 맡으므로 상태는 스레드 안에서만 쓴다.
+ */
+final class KioskClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final URI sellingUri;
+    private final URI orderUri;
+    private final URI productUri;
+    private final List<String> hotProductNumbers;
+    private final List<String> coldProductNumbers;
+    private final LoadTestOptions options;
+
+    private String menuETag;
+
+    KioskClient(HttpClient httpClient, URI baseUri, List<String> hotProductNumbers, List<String> coldProductNumbers,
+                LoadTestOptions options) {
+        this.httpClient = httpClient;
+        this.sellingUri = baseUri.resolve("/api/v1/products/selling");
+        this.orderUri = baseUri.resolve("/api/v1/orders/news");
+        this.productUri = baseUri.resolve("/api/v1/products/new");
+        this.hotProductNumbers = hotProductNumbers;
+        this.coldProductNumbers = coldProductNumbers;
+        this.options = options;
+    }
+
+    /**
+     * @return 기대한 응답(200, 메뉴는 304 도 포함)을 받았으면 true
+     */
+    boolean execute(Scenario scenario) throws IOException, InterruptedException {
+        return switch (scenario) {
+            case MENU_POLL -> pollMenu();
+            case ORDER_CREATE -> createOrder();
+            case PRODUCT_CREATE -> createProduct();
+        };
+    }
+
+    private boolean pollMenu() throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(sellingUri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept-Encoding", "gzip")
+                .GET();
+        if (menuETag != null) {
+            builder.header("If-None-Match", menuETag);
+        }
+        HttpResponse<byte[]> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == 200) {
+            menuETag = response.headers().firstValue("ETag").orElse(null);
+            return true;
+        }
+        return response.statusCode() == 304;
+    }
+
+    private boolean createOrder() throws IOException, InterruptedException {
+        StringBuilder body = new StringBuilder("{\"orderLines\":[");
+        for (int i = 0; i < options.linesPerOrder; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"productNumber\":\"").append(pickProductNumber()).append("\",\"quantity\":1}");
+        }
+        body.append("]}");
+        return post(orderUri, body.toString());
+    }
+
+    private boolean createProduct() throws IOException, InterruptedException {
+        // 판매 보류 상품으로 만든다. 메뉴 캐시는 무효화되지만 메뉴 자체가 계속 커지지는 않는다.
+        String body = "{\"type\":\"HANDMADE\",\"sellingStatus\":\"HOLD\",\"name\":\"부하 테스트 메뉴\",\"price\":"
+                + (ThreadLocalRandom.current().nextInt(1, 10) * 500) + "}";
+        return post(productUri, body);
+    }
+
+    private boolean post(URI uri, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+    }
+
+    private String pickProductNumber() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean hot = coldProductNumbers.isEmpty()
+                || (!hotProductNumbers.isEmpty() && random.nextDouble() < options.hotShare);
+        List<String> productNumbers = hot ? hotProductNumbers : coldProductNumbers;
+        return productNumbers.get(random.nextInt(productNumbers.size()));
+    }
+}
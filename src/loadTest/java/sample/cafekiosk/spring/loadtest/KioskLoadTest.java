@@ -0,0 +1,170 @@
+package sample.cafekiosk.spring.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import sample.cafekiosk.spring.CafekioskApplication;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ./gradlew loadTest
+ *
+ * 앱을 test 프로파일(H2 메모리 DB)로 임의 포트에 띄우고, 동시 클라이언트들이 loadTest.mix 비율대로 시나리오를 골라 요청을 보낸다.
+ * 외부 서버나 네트워크 없이 한 장비에서 돈다.
+ *
+ * 클라이언트는 응답을 받아야 다음 요청을 보내는 closed-loop 이다. 서버가 느려지면 보내는 양도 줄어들기 때문에
+ * 지연시간은 "요청을 보낸 시점부터"만 잰다. (정해진 속도로 보냈을 때의 대기 시간은 포함되지 않는다)
+ * 앱과 클라이언트가 같은 JVM, 같은 CPU 를 나눠 쓰므로 절대값보다 같은 조건의 이전 결과와 비교하는 용도로 쓴다.
+ */
+public class KioskLoadTest {
+
+    private static final int HOT_PRODUCT_STOCK = 1_000_000_000; // 측정 중 재고 부족이 나지 않을 만큼
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        ConfigurableApplicationContext context = start(options);
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI baseUri = URI.create("http://localhost:" + port);
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+
+            List<String> productNumbers = createProducts(httpClient, baseUri, objectMapper, options);
+            List<String> hotProductNumbers = productNumbers.subList(0, options.hotProductCount);
+            List<String> coldProductNumbers = productNumbers.subList(options.hotProductCount, productNumbers.size());
+            StockRepository stockRepository = context.getBean(StockRepository.class);
+            stockRepository.saveAll(hotProductNumbers.stream()
+                    .map(productNumber -> Stock.create(productNumber, HOT_PRODUCT_STOCK))
+                    .toList());
+
+            if (!options.warmup.isZero()) {
+                System.out.printf("워밍업 %d초%n", options.warmup.toSeconds());
+                run(options, options.warmup, httpClient, baseUri, hotProductNumbers, coldProductNumbers);
+            }
+            System.out.printf("측정 %d초 (clients=%d)%n", options.duration.toSeconds(), options.clients);
+            LoadTestReport report = run(options, options.duration, httpClient, baseUri, hotProductNumbers, coldProductNumbers);
+
+            report.print(options);
+            Path saved = report.save(options, objectMapper);
+            System.out.printf("%n결과: %s%n", saved.toAbsolutePath());
+            if (options.baseline != null) {
+                report.compare(options, objectMapper);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestOptions options) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.properties.hibernate.format_sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(options.appProperties);
+        return new SpringApplicationBuilder(CafekioskApplication.class)
+                .profiles("test")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * 앞쪽 hot-product-count 개는 재고가 있는 BOTTLE, 나머지는 재고가 없는 HANDMADE 로 만든다.
+     * 상품번호는 앱이 매기므로 응답에서 읽는다.
+     */
+    private static List<String> createProducts(HttpClient httpClient, URI baseUri, ObjectMapper objectMapper,
+                                               LoadTestOptions options) throws IOException, InterruptedException {
+        List<String> productNumbers = new ArrayList<>();
+        for (int i = 0; i < options.productCount; i++) {
+            String type = i < options.hotProductCount ? "BOTTLE" : "HANDMADE";
+            String body = String.format("{\"type\":\"%s\",\"sellingStatus\":\"SELLING\",\"name\":\"메뉴 %d\",\"price\":%d}",
+                    type, i + 1, 1000 + i * 100);
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/v1/products/new"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("상품을 만들지 못했습니다. (" + response.statusCode() + " " + response.body() + ")");
+            }
+            productNumbers.add(objectMapper.readTree(response.body()).path("data").path("productNumber").asText());
+        }
+        return productNumbers;
+    }
+
+    private static LoadTestReport run(LoadTestOptions options, Duration duration, HttpClient httpClient, URI baseUri,
+                                      List<String> hotProductNumbers, List<String> coldProductNumbers) {
+        LoadTestReport report = new LoadTestReport();
+        Scenario[] scenarios = options.mix.keySet().toArray(Scenario[]::new);
+        int[] cumulativeWeights = new int[scenarios.length];
+        int totalWeight = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            totalWeight += options.mix.get(scenarios[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+        int weightBound = totalWeight;
+
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < options.clients; client++) {
+                KioskClient kioskClient = new KioskClient(httpClient, baseUri, hotProductNumbers, coldProductNumbers, options);
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Scenario scenario = pick(scenarios, cumulativeWeights, weightBound);
+                        long sentAt = System.nanoTime();
+                        boolean success;
+                        try {
+                            success = kioskClient.execute(scenario);
+                        } catch (IOException e) {
+                            success = false;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        report.record(scenario, System.nanoTime() - sentAt, success);
+                        if (options.thinkTimeMillis > 0) {
+                            try {
+                                Thread.sleep(options.thinkTimeMillis);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                return;
+                            }
+                        }
+                    }
+                });
+            }
+        }
+        report.finish(System.nanoTime() - startedAt);
+        return report;
+    }
+
+    private static Scenario pick(Scenario[] scenarios, int[] cumulativeWeights, int weightBound) {
+        int value = ThreadLocalRandom.current().nextInt(weightBound);
+        for (int i = 0; i < scenarios.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+}
@@ -0,0 +1,135 @@
+package sample.cafekiosk.spring.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * ./gradlew loadTest -PloadTest.xxx=... 로 넘긴 값. (build.gradle 이 시스템 프로퍼티로 옮겨준다)
+ *
+ * loadTest.name                 결과 파일 이름 (기본 loadtest-yyyyMMdd-HHmmss)
+ * loadTest.clients              동시 클라이언트 수 (기본 200)
+ * loadTest.warmup-seconds       워밍업. 결과에 넣지 않는다. (기본 10)
+ * loadTest.duration-seconds     측정 시간 (기본 30)
+ * loadTest.mix                  시나리오 비율 (기본 menu:70,order:25,product:5)
+ * loadTest.product-count        미리 만들어 둘 판매 상품 수 (기본 20)
+ * loadTest.hot-product-count    주문이 몰리는 상품 수. 재고가 있는 BOTTLE 로 만든다. (기본 2)
+ * loadTest.hot-share            주문 라인 중 hot 상품을 고르는 비율 (기본 0.8)
+ * loadTest.lines-per-order      주문 하나의 라인 수 (기본 2)
+ * loadTest.think-time-ms        요청 사이에 클라이언트가 쉬는 시간 (기본 0)
+ * loadTest.baseline             비교할 이전 결과 json 경로 (없으면 비교하지 않는다)
+ * loadTest.report-dir           결과 저장 위치 (build.gradle 이 build/reports/loadtest 로 넘긴다)
+ * loadTest.app.*                앱 설정으로 그대로 넘긴다. 예) -PloadTest.app.cafekiosk.stock.deduction-mode=ledger
+ */
+final class LoadTestOptions {
+
+    private static final String PREFIX = "loadTest.";
+    private static final String APP_PREFIX = PREFIX + "app.";
+
+    final String name;
+    final int clients;
+    final Duration warmup;
+    final Duration duration;
+    final Map<Scenario, Integer> mix;
+    final int productCount;
+    final int hotProductCount;
+    final double hotShare;
+    final int linesPerOrder;
+    final long thinkTimeMillis;
+    final Path baseline;
+    final Path reportDir;
+    final Map<String, String> appProperties;
+
+    private LoadTestOptions(Properties properties) {
+        this.name = get(properties, "name", "loadtest-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        this.clients = positive("clients", Integer.parseInt(get(properties, "clients", "200")));
+        this.warmup = Duration.ofSeconds(Long.parseLong(get(properties, "warmup-seconds", "10")));
+        this.duration = Duration.ofSeconds(positive("duration-seconds", Integer.parseInt(get(properties, "duration-seconds", "30"))));
+        this.mix = parseMix(get(properties, "mix", "menu:70,order:25,product:5"));
+        this.productCount = positive("product-count", Integer.parseInt(get(properties, "product-count", "20")));
+        this.hotProductCount = Integer.parseInt(get(properties, "hot-product-count", "2"));
+        this.hotShare = Double.parseDouble(get(properties, "hot-share", "0.8"));
+        this.linesPerOrder = positive("lines-per-order", Integer.parseInt(get(properties, "lines-per-order", "2")));
+        this.thinkTimeMillis = Long.parseLong(get(properties, "think-time-ms", "0"));
+        String baselinePath = get(properties, "baseline", "");
+        this.baseline = baselinePath.isBlank() ? null : Path.of(baselinePath);
+        this.reportDir = Path.of(get(properties, "report-dir", "build/reports/loadtest"));
+        this.appProperties = appProperties(properties);
+
+        if (hotProductCount < 0 || hotProductCount > productCount) {
+            throw new IllegalArgumentException("loadTest.hot-product-count 는 0~product-count 사이여야 합니다.");
+        }
+        if (hotShare < 0 || hotShare > 1) {
+            throw new IllegalArgumentException("loadTest.hot-share 는 0~1 사이여야 합니다.");
+        }
+    }
+
+    static LoadTestOptions fromSystemProperties() {
+        return new LoadTestOptions(System.getProperties());
+    }
+
+    /**
+     * 리포트에 같이 남겨서, 비교할 때 조건이 같은지 볼 수 있게 한다.
+     */
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("clients", clients);
+        map.put("warmupSeconds", warmup.toSeconds());
+        map.put("durationSeconds", duration.toSeconds());
+        map.put("mix", mix);
+        map.put("productCount", productCount);
+        map.put("hotProductCount", hotProductCount);
+        map.put("hotShare", hotShare);
+        map.put("linesPerOrder", linesPerOrder);
+        map.put("thinkTimeMs", thinkTimeMillis);
+        map.put("app", appProperties);
+        return map;
+    }
+
+    private static Map<Scenario, Integer> parseMix(String value) {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("loadTest.mix 는 menu:70,order:25,product:5 형식이어야 합니다. (" + value + ")");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("loadTest.mix 의 비율은 0 이상이어야 합니다. (" + value + ")");
+            }
+            if (weight > 0) {
+                mix.put(Scenario.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadTest.mix 에 실행할 시나리오가 없습니다.");
+        }
+        return mix;
+    }
+
+    private static Map<String, String> appProperties(Properties properties) {
+        Map<String, String> appProperties = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(APP_PREFIX)) {
+                appProperties.put(key.substring(APP_PREFIX.length()), properties.getProperty(key));
+            }
+        }
+        return appProperties;
+    }
+
+    private static String get(Properties properties, String key, String defaultValue) {
+        return properties.getProperty(PREFIX + key, defaultValue);
+    }
+
+    private static int positive(String key, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("loadTest." + key + " 는 양수여야 합니다.");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,142 @@
+package sample.cafekiosk.spring.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 시나리오별 응답 시간(마이크로초)을 HdrHistogram 에 모은다. 여러 클라이언트가 동시에 기록한다.
+ *
+ * 결과 json 에는 요약 수치와 함께 히스토그램 원본(압축 + base64)도 남겨서, 나중에 다른 백분위도 다시 뽑을 수 있게 한다.
+ */
+final class LoadTestReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Scenario, ConcurrentHistogram> histograms = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> errors = new EnumMap<>(Scenario.class);
+    private long elapsedNanos;
+
+    LoadTestReport() {
+        for (Scenario scenario : Scenario.values()) {
+            histograms.put(scenario, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            errors.put(scenario, new LongAdder());
+        }
+    }
+
+    void record(Scenario scenario, long latencyNanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        histograms.get(scenario).recordValue(micros);
+        if (!success) {
+            errors.get(scenario).increment();
+        }
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    void print(LoadTestOptions options) {
+        System.out.printf("%n[%s] clients=%d duration=%ds mix=%s%n", options.name, options.clients, options.duration.toSeconds(), options.mix);
+        System.out.printf("%-16s %10s %8s %10s %10s %10s %10s %10s%n", "scenario", "count", "errors", "req/sec", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        for (Scenario scenario : options.mix.keySet()) {
+            Histogram histogram = histograms.get(scenario);
+            System.out.printf("%-16s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    scenario, histogram.getTotalCount(), errors.get(scenario).sum(), throughput(histogram),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+        }
+    }
+
+    Path save(LoadTestOptions options, ObjectMapper objectMapper) throws IOException {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("name", options.name);
+        root.put("finishedAt", LocalDateTime.now().toString());
+        root.put("javaVersion", System.getProperty("java.version"));
+        root.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        root.put("options", options.toMap());
+
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        for (Scenario scenario : options.mix.keySet()) {
+            Histogram histogram = histograms.get(scenario);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("description", scenario.getDescription());
+            summary.put("count", histogram.getTotalCount());
+            summary.put("errors", errors.get(scenario).sum());
+            summary.put("throughput", throughput(histogram));
+            summary.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            summary.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            summary.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+            summary.put("maxMs", millis(histogram.getMaxValue()));
+            summary.put("histogram", encode(histogram));
+            scenarios.put(scenario.name(), summary);
+        }
+        root.put("scenarios", scenarios);
+
+        Files.createDirectories(options.reportDir);
+        Path path = options.reportDir.resolve(options.name + ".json");
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), root);
+        return path;
+    }
+
+    /**
+     * 이전 결과와 처리량, p99 를 비교해 출력한다. 같은 조건(options)으로 돌린 결과끼리 비교해야 의미가 있다.
+     */
+    void compare(LoadTestOptions options, ObjectMapper objectMapper) throws IOException {
+        JsonNode baseline = objectMapper.readTree(options.baseline.toFile());
+        if (!baseline.path("options").equals(objectMapper.valueToTree(options.toMap()))) {
+            System.out.println("(주의) 기준 결과와 실행 조건이 다릅니다.");
+        }
+        System.out.printf("%nvs %s%n", baseline.path("name").asText(options.baseline.toString()));
+        System.out.printf("%-16s %12s %12s %10s %12s %12s %10s%n", "scenario", "req/sec", "baseline", "diff", "p99(ms)", "baseline", "diff");
+        for (Scenario scenario : options.mix.keySet()) {
+            JsonNode previous = baseline.path("scenarios").path(scenario.name());
+            if (previous.isMissingNode()) {
+                continue;
+            }
+            Histogram histogram = histograms.get(scenario);
+            double throughput = throughput(histogram);
+            double p99 = millis(histogram.getValueAtPercentile(99));
+            double baselineThroughput = previous.path("throughput").asDouble();
+            double baselineP99 = previous.path("p99Ms").asDouble();
+            System.out.printf("%-16s %12.1f %12.1f %9.1f%% %12.2f %12.2f %9.1f%%%n",
+                    scenario, throughput, baselineThroughput, change(throughput, baselineThroughput),
+                    p99, baselineP99, change(p99, baselineP99));
+        }
+    }
+
+    private double throughput(Histogram histogram) {
+        return histogram.getTotalCount() / (elapsedNanos / (double) Duration.ofSeconds(1).toNanos());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    private static double change(double current, double baseline) {
+        return baseline == 0 ? 0 : (current - baseline) / baseline * 100;
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+}
@@ -0,0 +1,36 @@
+package sample.cafekiosk.spring.loadtest;
+
+/**
+ * http/product.http, http/order.http 에 있는 요청 중 키오스크가 실제로 많이 보내는 것들.
+ */
+enum Scenario {
+
+    MENU_POLL("menu", "GET /api/v1/products/selling (If-None-Match, gzip)"),
+    ORDER_CREATE("order", "POST /api/v1/orders/news (orderLines, hot 상품 쏠림)"),
+    PRODUCT_CREATE("product", "POST /api/v1/products/new");
+
+    private final String key;
+    private final String description;
+
+    Scenario(String key, String description) {
+        this.key = key;
+        this.description = description;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    String getDescription() {
+        return description;
+    }
+
+    static Scenario fromKey(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equalsIgnoreCase(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 시나리오입니다. (" + key + ")");
+    }
+}
@@ -0,0 +1,36 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * orders, order_product, product, stock 의 id 를 IDENTITY 에서 pooled 시퀀스(allocationSize 50)로 바꾼다. (insert batch)
+ *
+ * 시퀀스 시작 값은 기존 행의 최대 id 를 보고 정해야 해서 SQL 이 아니라 Java 마이그레이션으로 둔다.
+ * Hibernate pooled 는 시퀀스 값 v 를 받으면 (v - 49 ~ v) 를 쓰므로, 최대 id + 50 에서 시작해야 기존 id 와 겹치지 않는다.
+ * 기존 identity 기본값은 그대로 둔다. Hibernate 가 id 를 직접 넣으므로 쓰이지 않는다.
+ */
+public class V10__pooled_id_sequences extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+    private static final List<String> TABLES = List.of("orders", "order_product", "product", "stock");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : TABLES) {
+                long maxId;
+                try (ResultSet resultSet = statement.executeQuery("select coalesce(max(id), 0) from " + table)) {
+                    resultSet.next();
+                    maxId = resultSet.getLong(1);
+                }
+                statement.execute(String.format("create sequence %s_seq start with %d increment by %d",
+                        table, maxId + ALLOCATION_SIZE, ALLOCATION_SIZE));
+            }
+        }
+    }
+}
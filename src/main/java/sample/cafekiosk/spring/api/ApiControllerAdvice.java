@@ -7,6 +7,13 @@ import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import sample.cafekiosk.spring.api.service.order.idempotency.OrderIdempotencyInProgressException;
+import sample.cafekiosk.spring.api.service.order.idempotency.OrderIdempotencyKeyReusedException;
+import sample.cafekiosk.spring.api.service.order.intake.OrderIntakeUnavailableException;
+import sample.cafekiosk.spring.api.service.stock.InsufficientStockException;
+import sample.cafekiosk.spring.api.service.stock.StockLedgerUnavailableException;
+
+import java.util.List;
 
 @RestControllerAdvice
 public class ApiControllerAdvice {
@@ -21,4 +28,58 @@ public class ApiControllerAdvice {
                 null); // 어노테이션에 정의 가능
     }
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(IllegalArgumentException.class) // 서비스에서 검증한 잘못된 요청 값
+    public ApiResponse<Object> illegalArgumentException(IllegalArgumentException e) {
+        return ApiResponse.of(
+                HttpStatus.BAD_REQUEST,
+                e.getMessage(),
+                null);
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InsufficientStockException.class)
+    public ApiResponse<List<String>> insufficientStockException(InsufficientStockException e) {
+        return ApiResponse.of(
+                HttpStatus.BAD_REQUEST,
+                e.getMessage(),
+                e.getProductNumbers()); // 재고가 부족한 상품 번호
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(OrderIntakeUnavailableException.class) // 접수 큐가 가득 찼거나 종료 중
+    public ApiResponse<Object> orderIntakeUnavailableException(OrderIntakeUnavailableException e) {
+        return ApiResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                e.getMessage(),
+                null);
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(StockLedgerUnavailableException.class) // ledger 모드에서 다른 서버가 재고 원장을 가져갔다.
+    public ApiResponse<Object> stockLedgerUnavailableException(StockLedgerUnavailableException e) {
+        return ApiResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                e.getMessage(),
+                null);
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(OrderIdempotencyInProgressException.class) // 같은 Idempotency-Key 의 앞선 요청이 아직 처리 중
+    public ApiResponse<Object> orderIdempotencyInProgressException(OrderIdempotencyInProgressException e) {
+        return ApiResponse.of(
+                HttpStatus.CONFLICT,
+                e.getMessage(),
+                null);
+    }
+
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    @ExceptionHandler(OrderIdempotencyKeyReusedException.class) // 같은 Idempotency-Key 로 본문이 다른 주문
+    public ApiResponse<Object> orderIdempotencyKeyReusedException(OrderIdempotencyKeyReusedException e) {
+        return ApiResponse.of(
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                e.getMessage(),
+                null);
+    }
+
 }
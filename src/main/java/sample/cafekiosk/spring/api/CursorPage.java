@@ -0,0 +1,71 @@
+package sample.cafekiosk.spring.api;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * id 순 keyset 페이지. 다음 페이지는 nextCursor 를 그대로 돌려주면 된다. (마지막 페이지면 null)
+ *
+ * OFFSET 과 달리 "id > 커서" 로 인덱스에서 바로 시작하므로, 뒤쪽 페이지도 첫 페이지와 비용이 같다.
+ */
+@Getter
+public class CursorPage<T> {
+
+    public static final String DEFAULT_SIZE = "20"; // @RequestParam(defaultValue) 에 쓰므로 문자열 상수
+    public static final int MAX_SIZE = 100;
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    private CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * rows 는 size + 1 개까지 조회한 결과다. 하나 더 있으면 다음 페이지가 있다는 뜻이다.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, Long> idExtractor, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? encode(idExtractor.apply(pageRows.get(size - 1))) : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), nextCursor);
+    }
+
+    public static <T> CursorPage<T> empty() {
+        return new CursorPage<>(List.of(), null);
+    }
+
+    /**
+     * 커서가 없으면 처음부터. (id 는 1 부터 발급된다.)
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) { // NumberFormatException 포함
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+
+    public static int limitSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
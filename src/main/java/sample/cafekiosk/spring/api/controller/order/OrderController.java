@@ -1,24 +1,127 @@
 package sample.cafekiosk.spring.api.controller.order;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import sample.cafekiosk.spring.api.CursorPage;
 import sample.cafekiosk.spring.api.controller.order.request.order.OrderCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderStatusChangeRequest;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.OrderStatusService;
+import sample.cafekiosk.spring.api.service.order.export.OrderExportFormat;
+import sample.cafekiosk.spring.api.service.order.export.OrderExportService;
+import sample.cafekiosk.spring.api.service.order.idempotency.OrderIdempotencyService;
+import sample.cafekiosk.spring.api.service.order.intake.OrderIntakeService;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderIntakeResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
+import sample.cafekiosk.spring.api.service.stock.StockConflictRetry;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequiredArgsConstructor
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIntakeService orderIntakeService;
+    private final OrderStatusService orderStatusService;
+    private final OrderExportService orderExportService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final StockConflictRetry stockConflictRetry;
 
+    /**
+     * 비동기 접수 모드면 큐에 넣고 202 + 접수 번호로 응답한다. 결과는 /api/v1/orders/intake/{ticketId} 로 조회한다.
+     * Idempotency-Key 를 보내면 같은 키의 재시도에는 처음 만든 주문을 그대로 돌려준다.
+     * 비동기 접수 모드는 키를 큐로 넘기지 않으므로, 키를 보내면 재시도가 중복 주문이 되지 않도록 접수하지 않고 400 으로 응답한다.
+     * 재고 버전 충돌로 실패하면 주문 트랜잭션을 통째로 다시 실행한다. (StockConflictRetry)
+     */
     @PostMapping("/api/v1/orders/news")
-    public OrderResponse createOrder(@RequestBody OrderCreateRequest request) {
+    public ResponseEntity<?> createOrder(@RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+                                         @RequestBody OrderCreateRequest request) {
         LocalDateTime registeredDateTime = LocalDateTime.now();
-        return orderService.createOrder(request, registeredDateTime);
+        if (orderIntakeService.isEnabled()) {
+            if (idempotencyKey != null) {
+                throw new IllegalArgumentException("비동기 접수 모드에서는 Idempotency-Key 를 쓸 수 없습니다.");
+            }
+            return ResponseEntity.accepted().body(orderIntakeService.submit(request, registeredDateTime));
+        }
+        if (idempotencyKey != null) {
+            return ResponseEntity.ok(orderIdempotencyService.createOrder(idempotencyKey, request, registeredDateTime));
+        }
+        return ResponseEntity.ok(stockConflictRetry.execute(() -> orderService.createOrder(request, registeredDateTime)));
+    }
+
+    @GetMapping("/api/v1/orders/intake/{ticketId}")
+    public OrderIntakeResponse getOrderIntake(@PathVariable String ticketId) {
+        return orderIntakeService.getTicket(ticketId);
+    }
+
+    @PostMapping("/api/v1/orders/batch")
+    public OrderBatchResponse createOrders(@RequestBody List<OrderCreateRequest> requests) {
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        return stockConflictRetry.execute(() -> orderService.createOrders(requests, registeredDateTime));
+    }
+
+    /**
+     * 주문 목록. 다음 페이지는 응답의 nextCursor 를 cursor 로 넘긴다.
+     */
+    @GetMapping("/api/v1/orders")
+    public CursorPage<OrderResponse> getOrders(@RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        return orderService.getOrders(cursor, size);
+    }
+
+    @GetMapping("/api/v1/orders/{orderId}")
+    public OrderResponse getOrder(@PathVariable Long orderId) {
+        return orderService.getOrder(orderId);
+    }
+
+    @PostMapping("/api/v1/orders/status")
+    public OrderStatusChangeResponse changeOrderStatus(@RequestBody List<OrderStatusChangeRequest> requests) {
+        return orderStatusService.changeOrderStatus(requests, LocalDateTime.now());
+    }
+
+    /**
+     * 바리스타 화면용. since 를 주지 않으면 오늘 들어온 주문만 본다.
+     */
+    @GetMapping("/api/v1/orders/open")
+    public List<OrderResponse> getOpenOrders(@RequestParam(required = false) Set<OrderStatus> statuses,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+                                             @RequestParam(defaultValue = "100") int size) {
+        return orderStatusService.getOpenOrders(
+                statuses == null ? OrderStatus.OPEN : statuses,
+                since == null ? LocalDate.now().atStartOfDay() : since,
+                size);
+    }
+
+    /**
+     * 회계용 내보내기. 응답 스트림에 바로 쓰므로 기간이 길어도 서버 메모리는 늘지 않는다.
+     */
+    @GetMapping("/api/v1/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "NDJSON") OrderExportFormat format) {
+        OrderExportService.validatePeriod(from, to); // 200 을 보내기 전에 검사해야 400 으로 응답할 수 있다.
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + format.getExtension() + "\"")
+                .body(out -> orderExportService.export(from, to, format, out));
     }
 }
@@ -3,18 +3,46 @@ package sample.cafekiosk.spring.api.controller.order.request.order;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.api.service.order.ProductQuantities;
 
 import java.util.List;
 
+/**
+ * productNumbers (수량만큼 반복) 와 orderLines (상품번호 + 수량) 중 하나로, 또는 둘을 섞어서 주문한다.
+ */
 @Getter
 @NoArgsConstructor
 public class OrderCreateRequest {
 
     private List<String> productNumbers;
 
+    private List<OrderLineRequest> orderLines;
+
     @Builder
-    private OrderCreateRequest(List<String> productNumbers) {
+    private OrderCreateRequest(List<String> productNumbers, List<OrderLineRequest> orderLines) {
         this.productNumbers = productNumbers;
+        this.orderLines = orderLines;
     }
 
+    /**
+     * 두 형식을 합쳐 상품번호별 수량으로 만든다. 같은 상품번호는 처음 나온 자리에 더한다.
+     * 단건 주문과 일괄 주문 모두 여기서 만들므로, 주문할 상품이 하나도 없으면 여기서 거절한다.
+     */
+    public ProductQuantities toProductQuantities() {
+        ProductQuantities quantities = new ProductQuantities();
+        if (productNumbers != null) {
+            for (String productNumber : productNumbers) {
+                quantities.add(productNumber, 1);
+            }
+        }
+        if (orderLines != null) {
+            for (OrderLineRequest orderLine : orderLines) {
+                quantities.add(orderLine.getProductNumber(), orderLine.getQuantity());
+            }
+        }
+        if (quantities.isEmpty()) {
+            throw new IllegalArgumentException("주문할 상품이 없습니다.");
+        }
+        return quantities;
+    }
 }
@@ -0,0 +1,23 @@
+package sample.cafekiosk.spring.api.controller.order.request.order;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 상품번호 + 수량 한 줄. (라떼 30잔 = {"productNumber": "002", "quantity": 30})
+ */
+@Getter
+@NoArgsConstructor
+public class OrderLineRequest {
+
+    private String productNumber;
+
+    private int quantity;
+
+    @Builder
+    private OrderLineRequest(String productNumber, int quantity) {
+        this.productNumber = productNumber;
+        this.quantity = quantity;
+    }
+}
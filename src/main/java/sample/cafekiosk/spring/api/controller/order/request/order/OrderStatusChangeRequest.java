@@ -0,0 +1,20 @@
+package sample.cafekiosk.spring.api.controller.order.request.order;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+@Getter
+@NoArgsConstructor
+public class OrderStatusChangeRequest {
+
+    private Long orderId;
+    private OrderStatus orderStatus; // 바꿀 상태
+
+    @Builder
+    private OrderStatusChangeRequest(Long orderId, OrderStatus orderStatus) {
+        this.orderId = orderId;
+        this.orderStatus = orderStatus;
+    }
+}
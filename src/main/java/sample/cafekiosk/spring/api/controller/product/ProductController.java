@@ -1,18 +1,25 @@
 package sample.cafekiosk.spring.api.controller.product;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.CursorPage;
 import sample.cafekiosk.spring.api.service.product.dto.request.ProductCreateRequest;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.response.SellingProductsBody;
 
-import java.util.List;
+import java.io.IOException;
 
 @RequiredArgsConstructor
 @RestController
@@ -25,8 +32,46 @@ public class ProductController {
         return ApiResponse.ok(productService.createProduct(request));
     }
 
+    /**
+     * 키오스크가 이미 최신 메뉴를 갖고 있으면(If-None-Match 일치) 본문 없이 304 를 돌려준다.
+     * 본문은 ApiResponse<List<ProductResponse>> 를 미리 인코딩해 둔 바이트를 그대로 쓴다. (Accept-Encoding: gzip 이면 압축본)
+     */
     @GetMapping("/api/v1/products/selling")
-    public ApiResponse<List<ProductResponse>> getSellingProducts() {
-        return ApiResponse.ok(productService.getSellingProducts());
+    public void getSellingProducts(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        if (webRequest.checkNotModified(productService.getSellingProductsETag())) {
+            return;
+        }
+        SellingProductsBody body = productService.getSellingProductsBody();
+        boolean gzip = body.hasGzip() && acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.getLength(gzip));
+        body.writeTo(response.getOutputStream(), gzip);
+    }
+
+    /**
+     * 판매 상품을 나눠서 조회한다. 다음 페이지는 응답의 nextCursor 를 cursor 로 넘긴다.
+     */
+    @GetMapping("/api/v1/products/selling/page")
+    public ApiResponse<CursorPage<ProductResponse>> getSellingProductPage(@RequestParam(required = false) String cursor,
+                                                                          @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        return ApiResponse.ok(productService.getSellingProducts(cursor, size));
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?"); // gzip;q=0 은 거절
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,46 @@
+package sample.cafekiosk.spring.api.controller.sales;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.sales.DailySalesRebuildService;
+import sample.cafekiosk.spring.api.service.sales.DailySalesService;
+import sample.cafekiosk.spring.api.service.sales.response.DailySalesResponse;
+import sample.cafekiosk.spring.api.service.sales.response.DailySalesVerifyResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+public class SalesController {
+
+    private final DailySalesService dailySalesService;
+    private final DailySalesRebuildService dailySalesRebuildService;
+
+    /**
+     * daily_sales 집계만 읽는다. date 를 주지 않으면 오늘.
+     */
+    @GetMapping("/api/v1/sales/daily")
+    public ApiResponse<List<DailySalesResponse>> getDailySales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ApiResponse.ok(dailySalesService.getDailySales(date == null ? LocalDate.now() : date));
+    }
+
+    @GetMapping("/api/v1/sales/daily/verify")
+    public ApiResponse<DailySalesVerifyResponse> verifyDailySales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ApiResponse.ok(dailySalesRebuildService.verify(date));
+    }
+
+    @PostMapping("/api/v1/sales/daily/rebuild")
+    public ApiResponse<List<DailySalesVerifyResponse>> rebuildDailySales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ApiResponse.ok(dailySalesRebuildService.rebuild(from, to));
+    }
+}
@@ -0,0 +1,57 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 주문 생성 단계별 지표. /actuator/metrics/cafekiosk.order.create.stage?tag=stage:deduct_stock 처럼 조회한다.
+ * Timer 는 미리 만들어 두고 재사용한다. (호출마다 registry 에서 찾지 않도록)
+ */
+@Getter
+@Component
+public class OrderMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final Timer findProducts;
+    private final Timer deductStock;
+    private final Timer saveOrder;
+    private final Timer createResponse;
+    private final DistributionSummary itemCount;
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.findProducts = stageTimer("find_products");
+        this.deductStock = stageTimer("deduct_stock");
+        this.saveOrder = stageTimer("save_order");
+        this.createResponse = stageTimer("create_response");
+        this.itemCount = DistributionSummary.builder("cafekiosk.order.items")
+                .description("주문 한 건에 담긴 상품 수")
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 재고 부족으로 거절된 주문을 상품번호별로 센다. (거절은 드물기 때문에 호출마다 조회해도 괜찮다.)
+     */
+    public void countStockRejection(List<String> productNumbers) {
+        for (String productNumber : productNumbers) {
+            meterRegistry.counter("cafekiosk.order.stock.rejected", "productNumber", productNumber).increment();
+        }
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder("cafekiosk.order.create.stage")
+                .description("주문 생성 단계별 소요 시간")
+                .tag("stage", stage)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+}
@@ -1,22 +1,34 @@
 package sample.cafekiosk.spring.api.service.order;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.CursorPage;
 import sample.cafekiosk.spring.api.controller.order.request.order.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResult;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.sales.DailySalesService;
+import sample.cafekiosk.spring.api.service.stock.InsufficientStockException;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionService;
+import sample.cafekiosk.spring.api.service.stock.reservation.StockReservationService;
 import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderProductRow;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductType;
-import sample.cafekiosk.spring.domain.stock.Stock;
-import sample.cafekiosk.spring.domain.stock.StockRepository;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,64 +38,205 @@ public class OrderService {
 
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
-    private final StockRepository stockRepository;
+    private final StockDeductionService stockDeductionService;
+    private final OrderMetrics orderMetrics;
+    private final DailySalesService dailySalesService;
+    private final StockReservationService stockReservationService;
 
     /**
      * 재고 감소 -> 동시성 고민
-     * optimistic lock / pessimistic lock / ...
+     * optimistic lock / pessimistic lock / ... -> cafekiosk.stock.deduction-mode 로 선택 (StockDeductionMode)
+     * 차감한 재고는 결제 전까지 예약으로 남고, 결제 실패/취소/만료 시 돌려준다. (StockReservationService)
      */
     public OrderResponse createOrder(OrderCreateRequest request, LocalDateTime registeredDateTime) {
-        List<String> productNumbers = request.getProductNumbers();
-        List<Product> products = findProductsBy(productNumbers);
-
-        deductStockQuantities(products);
-        
-        Order order = Order.create(products, registeredDateTime);
-        Order savedOrder = orderRepository.save(order);
-        return OrderResponse.of(savedOrder);
+        ProductQuantities quantities = request.toProductQuantities();
+        orderMetrics.getItemCount().record(quantities.getTotalQuantity());
+        Product[] products = orderMetrics.getFindProducts().record(() -> findProductsBy(quantities));
+
+        Map<String, Integer> stockQuantities = createStockCountingMap(products, quantities);
+        orderMetrics.getDeductStock().record(() -> deductStockQuantities(stockQuantities));
+
+        Order order = Order.create(expandProducts(products, quantities), registeredDateTime);
+        // save 만으로는 insert 가 커밋 시점까지 미뤄지므로, flush 까지 재야 주문/주문상품 insert 시간이 잡힌다.
+        Order savedOrder = orderMetrics.getSaveOrder().record(() -> orderRepository.saveAndFlush(order));
+        stockReservationService.reserve(Map.of(savedOrder.getId(), stockQuantities));
+        dailySalesService.record(List.of(savedOrder));
+        return orderMetrics.getCreateResponse().record(() -> OrderResponse.of(savedOrder));
     }
 
-    private List<Product> findProductsBy(List<String> productNumbers) {
-        List<Product> products = productRepository.findAllByProductNumberIn(productNumbers);
-        Map<String, Product> productMap = products.stream()
-                . collect(Collectors.toMap(Product::getProductNumber, p -> p));
+    /**
+     * 주문 여러 건을 한 트랜잭션에서 처리한다.
+     * 상품 조회와 재고 차감은 배치 전체에 대해 한 번씩만 하고, 성공/실패는 주문별로 나눠 응답한다.
+     */
+    public OrderBatchResponse createOrders(List<OrderCreateRequest> requests, LocalDateTime registeredDateTime) {
+        return createOrders(requests, Collections.nCopies(requests.size(), registeredDateTime));
+    }
 
-        return productNumbers.stream()
-                .map(productMap::get)
+    /**
+     * 주문마다 등록 시각이 다른 경우. (비동기 접수에서 모아 둔 주문들)
+     */
+    public OrderBatchResponse createOrders(List<OrderCreateRequest> requests, List<LocalDateTime> registeredDateTimes) {
+        OrderBatchResult[] results = new OrderBatchResult[requests.size()];
+        ProductQuantities[] quantitiesByIndex = new ProductQuantities[requests.size()];
+        Set<String> productNumbers = new LinkedHashSet<>();
+        for (int index = 0; index < requests.size(); index++) {
+            try {
+                quantitiesByIndex[index] = requests.get(index).toProductQuantities();
+            } catch (IllegalArgumentException e) {
+                results[index] = OrderBatchResult.failure(index, e.getMessage(), List.of());
+                continue;
+            }
+            productNumbers.addAll(quantitiesByIndex[index].getProductNumbers());
+        }
+        Map<String, Product> productMap = createProductMapBy(new ArrayList<>(productNumbers));
+
+        List<PendingOrder> pendingOrders = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            ProductQuantities quantities = quantitiesByIndex[index];
+            if (quantities == null) {
+                continue;
+            }
+            Product[] products = new Product[quantities.size()];
+            List<String> unknownProductNumbers = new ArrayList<>(0);
+            for (int i = 0; i < quantities.size(); i++) {
+                products[i] = productMap.get(quantities.getProductNumber(i));
+                if (products[i] == null) {
+                    unknownProductNumbers.add(quantities.getProductNumber(i));
+                }
+            }
+            if (!unknownProductNumbers.isEmpty()) {
+                results[index] = OrderBatchResult.failure(index, "존재하지 않는 상품이 있습니다.", unknownProductNumbers);
+                continue;
+            }
+            pendingOrders.add(new PendingOrder(index, products, quantities));
+        }
+
+        List<Map<String, Integer>> stockQuantitiesPerOrder = pendingOrders.stream()
+                .map(pendingOrder -> createStockCountingMap(pendingOrder.products(), pendingOrder.quantities()))
                 .toList();
+        List<List<String>> shortProductNumbers = stockDeductionService.deductEach(stockQuantitiesPerOrder);
+
+        List<PendingOrder> acceptedOrders = new ArrayList<>();
+        List<Map<String, Integer>> acceptedStockQuantities = new ArrayList<>();
+        for (int i = 0; i < pendingOrders.size(); i++) {
+            PendingOrder pendingOrder = pendingOrders.get(i);
+            if (shortProductNumbers.get(i).isEmpty()) {
+                acceptedOrders.add(pendingOrder);
+                acceptedStockQuantities.add(stockQuantitiesPerOrder.get(i));
+            } else {
+                orderMetrics.countStockRejection(shortProductNumbers.get(i));
+                results[pendingOrder.index()] = OrderBatchResult.failure(pendingOrder.index(), "재고가 부족한 상품이 있습니다.", shortProductNumbers.get(i));
+            }
+        }
+
+        List<Order> savedOrders = orderRepository.saveAll(acceptedOrders.stream() // 한 번에 저장해야 insert 가 batch 로 묶인다.
+                .map(acceptedOrder -> Order.create(expandProducts(acceptedOrder.products(), acceptedOrder.quantities()), registeredDateTimes.get(acceptedOrder.index())))
+                .toList());
+        Map<Long, Map<String, Integer>> stockQuantitiesByOrderId = new HashMap<>();
+        for (int i = 0; i < savedOrders.size(); i++) {
+            stockQuantitiesByOrderId.put(savedOrders.get(i).getId(), acceptedStockQuantities.get(i));
+        }
+        stockReservationService.reserve(stockQuantitiesByOrderId);
+        dailySalesService.record(savedOrders);
+        for (int i = 0; i < savedOrders.size(); i++) {
+            int index = acceptedOrders.get(i).index();
+            results[index] = OrderBatchResult.success(index, OrderResponse.of(savedOrders.get(i)));
+        }
+        return OrderBatchResponse.of(List.of(results));
     }
 
-    private void deductStockQuantities(List<Product> products) {
-        List<String> stockProductNumbers = extractStockProductNumbers(products);
+    /**
+     * 주문 + 주문상품 + 상품을 쿼리 한 번으로 읽어 바로 응답을 만든다.
+     */
+    @Transactional(readOnly = true)
+    public OrderResponse getOrder(Long orderId) {
+        List<OrderProductRow> rows = orderRepository.findOrderProductRowsByOrderId(orderId);
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("존재하지 않는 주문입니다.");
+        }
+        return OrderResponse.of(rows);
+    }
 
-        Map<String, Stock> stockMap = createStockMapBy(stockProductNumbers);
-        Map<String, Long> productCountingMap = createCountingMapBy(stockProductNumbers);
+    /**
+     * 주문을 id 순으로 size 개씩. id 는 keyset 으로 찾고, 그 페이지의 주문상품과 상품은 fetch join 한 번으로 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getOrders(String cursor, int size) {
+        int pageSize = CursorPage.limitSize(size);
+        List<Long> orderIds = orderRepository.findIdsByIdGreaterThan(CursorPage.decode(cursor), Limit.of(pageSize + 1));
+        if (orderIds.isEmpty()) {
+            return CursorPage.empty();
+        }
+
+        Map<Long, Order> orderMap = orderRepository.findAllWithProductsByIdIn(orderIds.subList(0, Math.min(pageSize, orderIds.size()))).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        return CursorPage.of(orderIds, pageSize, id -> id, id -> OrderResponse.of(orderMap.get(id)));
+    }
+
+    /**
+     * 상품번호별로 한 번씩, quantities 와 같은 순서로 상품을 찾는다.
+     */
+    private Product[] findProductsBy(ProductQuantities quantities) {
+        Map<String, Product> productMap = createProductMapBy(quantities.getProductNumbers());
 
-        for (String stockProductNumber : new HashSet<>(stockProductNumbers)) {
-            Stock stock = stockMap.get(stockProductNumber);
-            int quantity = productCountingMap.get(stockProductNumber).intValue();
-            if (stock.isQuantityLessThan(quantity)) {
-                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+        Product[] products = new Product[quantities.size()];
+        for (int i = 0; i < products.length; i++) {
+            products[i] = productMap.get(quantities.getProductNumber(i));
+            if (products[i] == null) {
+                throw new IllegalArgumentException("존재하지 않는 상품이 있습니다.");
             }
-            stock.deductQuantity(quantity); // 여기서도 검증을 하지만 사용자 친화적인 메시지를 위해 위에서 한번 더 체크를 한다.
         }
+        return products;
     }
 
-    private static List<String> extractStockProductNumbers(List<Product> products) {
-        return products.stream() // 재고와 관련된 상품 번호
-                .filter(product -> ProductType.containsStockType(product.getType()))
-                .map(Product::getProductNumber)
-                .toList();
+    private Map<String, Product> createProductMapBy(List<String> productNumbers) {
+        return toProductMap(productRepository.findAllByProductNumberIn(productNumbers));
+    }
+
+    // 아래 helper 들은 src/jmh 벤치마크에서 직접 호출한다.
+    static Map<String, Product> toProductMap(List<Product> products) {
+        return products.stream()
+                .collect(Collectors.toMap(Product::getProductNumber, p -> p));
+    }
+
+    private void deductStockQuantities(Map<String, Integer> productCountingMap) {
+        try {
+            stockDeductionService.deduct(productCountingMap); // 차감 방식은 cafekiosk.stock.deduction-mode 설정을 따른다.
+        } catch (InsufficientStockException e) {
+            orderMetrics.countStockRejection(e.getProductNumbers());
+            throw e;
+        }
+    }
+
+    /**
+     * key: 재고와 관련된 상품 번호, value: 수량. 이미 상품번호별로 합쳐져 있으므로 세지 않고 옮겨 담기만 한다.
+     */
+    static Map<String, Integer> createStockCountingMap(Product[] products, ProductQuantities quantities) {
+        Map<String, Integer> productCountingMap = null;
+        for (int i = 0; i < products.length; i++) {
+            if (ProductType.containsStockType(products[i].getType())) {
+                if (productCountingMap == null) {
+                    productCountingMap = new HashMap<>();
+                }
+                productCountingMap.put(products[i].getProductNumber(), quantities.getQuantity(i));
+            }
+        }
+        return productCountingMap == null ? Map.of() : productCountingMap;
     }
 
-    private Map<String, Stock> createStockMapBy(List<String> stockProductNumbers) {
-        List<Stock> stocks = stockRepository.findAllByProductNumberIn(stockProductNumbers);
-        return stocks.stream()
-                .collect(Collectors.toMap(Stock::getProductNumber, s -> s));
+    /**
+     * 주문상품은 수량만큼 한 줄씩 저장한다.
+     */
+    static List<Product> expandProducts(Product[] products, ProductQuantities quantities) {
+        List<Product> expanded = new ArrayList<>(quantities.getTotalQuantity());
+        for (int i = 0; i < products.length; i++) {
+            for (int count = 0; count < quantities.getQuantity(i); count++) {
+                expanded.add(products[i]);
+            }
+        }
+        return expanded;
     }
 
-    private Map<String, Long> createCountingMapBy(List<String> stockProductNumbers) {
-        return stockProductNumbers.stream() // key: productNumber, value: stock count
-                .collect(Collectors.groupingBy(p -> p, Collectors.counting()));
+    private record PendingOrder(int index, Product[] products, ProductQuantities quantities) {
     }
 }
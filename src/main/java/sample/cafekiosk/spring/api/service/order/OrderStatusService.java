@@ -0,0 +1,138 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.CursorPage;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderStatusChangeRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeFailure;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
+import sample.cafekiosk.spring.api.service.sales.DailySalesService;
+import sample.cafekiosk.spring.api.service.stock.reservation.StockReservationService;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatusRow;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class OrderStatusService {
+
+    private final OrderRepository orderRepository;
+    private final StockReservationService stockReservationService;
+    private final DailySalesService dailySalesService;
+
+    /**
+     * 바리스타 화면에서 여러 주문의 상태를 한 번에 바꾼다.
+     * 현재 상태를 한 번에 조회해 허용되지 않는 전이를 걸러내고, 바꿀 상태마다 잠금 조회 + update 한 번으로 처리한다.
+     * 결제 완료면 잡아 둔 재고를 확정하고, 결제 실패/취소면 돌려주고 판매 집계에서 뺀다.
+     */
+    public OrderStatusChangeResponse changeOrderStatus(List<OrderStatusChangeRequest> requests, LocalDateTime modifiedDateTime) {
+        if (requests.isEmpty()) {
+            return OrderStatusChangeResponse.of(List.of(), List.of(), List.of());
+        }
+        Map<Long, OrderStatus> currentStatuses = findStatusesBy(requests.stream()
+                .map(OrderStatusChangeRequest::getOrderId)
+                .toList());
+
+        List<OrderStatusChangeFailure> failures = new ArrayList<>();
+        Map<OrderStatus, List<Long>> orderIdsByTarget = new EnumMap<>(OrderStatus.class);
+        Set<Long> requestedOrderIds = new HashSet<>();
+        for (OrderStatusChangeRequest request : requests) {
+            Long orderId = request.getOrderId();
+            OrderStatus current = currentStatuses.get(orderId);
+            OrderStatus target = request.getOrderStatus();
+            if (!requestedOrderIds.add(orderId)) {
+                failures.add(OrderStatusChangeFailure.of(orderId, current, "같은 주문을 한 번에 여러 번 바꿀 수 없습니다."));
+            } else if (current == null) {
+                failures.add(OrderStatusChangeFailure.of(orderId, null, "존재하지 않는 주문입니다."));
+            } else if (target == null) {
+                failures.add(OrderStatusChangeFailure.of(orderId, current, "바꿀 상태는 필수입니다."));
+            } else if (!current.canTransitionTo(target)) {
+                failures.add(OrderStatusChangeFailure.of(orderId, current,
+                        String.format("%s 상태에서 %s 상태로 바꿀 수 없습니다.", current.getText(), target.getText())));
+            } else {
+                orderIdsByTarget.computeIfAbsent(target, key -> new ArrayList<>()).add(orderId);
+            }
+        }
+
+        List<Long> changedOrderIds = new ArrayList<>();
+        List<Long> alreadyChangedOrderIds = new ArrayList<>();
+        orderIdsByTarget.forEach((target, orderIds) -> {
+            // 잠가서 읽은 주문만 바꾼다. 잠근 주문은 커밋까지 다른 요청이 바꾸지 못하므로, 여기서 읽은 주문이 곧 update 로 바뀌는 주문이다.
+            List<Long> changing = orderRepository.findAllForUpdateByIdInAndOrderStatusIn(orderIds, target.getSources()).stream()
+                    .map(Order::getId)
+                    .toList();
+            if (!changing.isEmpty()) {
+                orderRepository.updateOrderStatus(changing, target.getSources(), target, modifiedDateTime);
+                changedOrderIds.addAll(changing);
+                onChanged(target, changing);
+            }
+            if (changing.size() == orderIds.size()) {
+                return;
+            }
+
+            // 조회 이후 다른 요청이 먼저 상태를 바꾼 주문. 이미 target 이면 그 요청이 재고와 집계까지 처리했으므로 따로 알려만 준다.
+            Set<Long> changingIds = new HashSet<>(changing);
+            List<Long> missedOrderIds = orderIds.stream()
+                    .filter(orderId -> !changingIds.contains(orderId))
+                    .toList();
+            Map<Long, OrderStatus> latestStatuses = findStatusesBy(missedOrderIds);
+            for (Long orderId : missedOrderIds) {
+                OrderStatus latest = latestStatuses.get(orderId);
+                if (latest == target) {
+                    alreadyChangedOrderIds.add(orderId);
+                } else {
+                    failures.add(OrderStatusChangeFailure.of(orderId, latest, "다른 요청이 먼저 상태를 바꿨습니다."));
+                }
+            }
+        });
+        return OrderStatusChangeResponse.of(changedOrderIds, alreadyChangedOrderIds, failures);
+    }
+
+    /**
+     * 아직 끝나지 않은 주문을 들어온 순서대로 조회한다.
+     * id 는 (order_status, registered_date_time) 인덱스로 찾고, 상품은 fetch join 한 번으로 가져온다.
+     * size 는 1 ~ CursorPage.MAX_SIZE 로 맞춘다.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getOpenOrders(Set<OrderStatus> statuses, LocalDateTime since, int size) {
+        List<Long> orderIds = orderRepository.findIdsByOrderStatusInAndRegisteredSince(statuses, since, Limit.of(CursorPage.limitSize(size)));
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Order> orderMap = orderRepository.findAllWithProductsByIdIn(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        return orderIds.stream()
+                .map(orderMap::get)
+                .map(OrderResponse::of)
+                .toList();
+    }
+
+    private void onChanged(OrderStatus target, List<Long> orderIds) {
+        stockReservationService.onOrderStatusChanged(target, orderIds);
+        if (OrderStatus.NOT_SOLD.contains(target)) {
+            dailySalesService.subtract(orderIds);
+        }
+    }
+
+    private Map<Long, OrderStatus> findStatusesBy(Collection<Long> orderIds) {
+        return orderRepository.findStatusRowsByIdIn(orderIds).stream()
+                .collect(Collectors.toMap(OrderStatusRow::getOrderId, OrderStatusRow::getOrderStatus));
+    }
+}
@@ -0,0 +1,104 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 한 건의 상품번호별 수량. 처음 나온 순서를 지킨다.
+ *
+ * 수량은 int 배열에 바로 더하므로 Map<String, Long> 처럼 상품마다 박싱된 값이 생기지 않는다.
+ * 한 주문의 상품 종류는 보통 몇 개뿐이라 선형 탐색으로 찾고, 종류가 많아지면 그때만 위치 index 를 만든다.
+ *
+ * 주문상품은 수량만큼 한 줄씩 저장하므로, 한 줄과 주문 전체의 수량에 상한을 둔다.
+ */
+public class ProductQuantities {
+
+    public static final int MAX_LINE_QUANTITY = 100;
+    public static final int MAX_TOTAL_QUANTITY = 500;
+
+    private static final int LINEAR_SEARCH_LIMIT = 16;
+
+    private String[] productNumbers = new String[4];
+    private int[] quantities = new int[4];
+    private int size;
+    private int totalQuantity;
+    private Map<String, Integer> positions; // LINEAR_SEARCH_LIMIT 를 넘으면 만든다.
+
+    public void add(String productNumber, int quantity) {
+        if (productNumber == null) {
+            throw new IllegalArgumentException("상품번호는 필수입니다.");
+        }
+        if (quantity < 1) {
+            throw new IllegalArgumentException("주문 수량은 1개 이상이어야 합니다.");
+        }
+        if (quantity > MAX_LINE_QUANTITY) {
+            throw new IllegalArgumentException("한 상품의 주문 수량은 " + MAX_LINE_QUANTITY + "개를 넘을 수 없습니다.");
+        }
+        if (totalQuantity + quantity > MAX_TOTAL_QUANTITY) {
+            throw new IllegalArgumentException("한 주문의 전체 수량은 " + MAX_TOTAL_QUANTITY + "개를 넘을 수 없습니다.");
+        }
+        int position = indexOf(productNumber);
+        if (position < 0) {
+            position = append(productNumber);
+        }
+        quantities[position] += quantity;
+        totalQuantity += quantity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String getProductNumber(int position) {
+        return productNumbers[position];
+    }
+
+    public int getQuantity(int position) {
+        return quantities[position];
+    }
+
+    public int getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public List<String> getProductNumbers() {
+        return List.of(Arrays.copyOf(productNumbers, size));
+    }
+
+    private int indexOf(String productNumber) {
+        if (positions != null) {
+            Integer position = positions.get(productNumber);
+            return position == null ? -1 : position;
+        }
+        for (int i = 0; i < size; i++) {
+            if (productNumbers[i].equals(productNumber)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int append(String productNumber) {
+        if (size == productNumbers.length) {
+            productNumbers = Arrays.copyOf(productNumbers, size * 2);
+            quantities = Arrays.copyOf(quantities, size * 2);
+        }
+        int position = size++;
+        productNumbers[position] = productNumber;
+        if (positions != null) {
+            positions.put(productNumber, position);
+        } else if (size > LINEAR_SEARCH_LIMIT) {
+            positions = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                positions.put(productNumbers[i], i);
+            }
+        }
+        return position;
+    }
+}
@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.api.service.order.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OrderExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"), // 주문 한 건이 한 줄
+    CSV("text/csv", "csv"); // 주문상품 한 건이 한 줄
+
+    private final String contentType;
+    private final String extension;
+}
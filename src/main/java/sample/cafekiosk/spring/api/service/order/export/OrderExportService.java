@@ -0,0 +1,154 @@
+package sample.cafekiosk.spring.api.service.order.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderProductRow;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 기간 내 주문을 주문상품과 함께 응답 스트림에 바로 쓴다.
+ *
+ * DB 에서는 forward-only 커서로 fetch size 만큼씩 읽고, 메모리에는 지금 쓰고 있는 주문 한 건의 주문상품만 둔다.
+ * 그래서 내보내는 주문이 백 건이든 천만 건이든 힙 사용량은 비슷하다.
+ */
+@Service
+public class OrderExportService {
+
+    private static final String CSV_HEADER = "order_id,order_status,total_price,registered_date_time,product_number,product_name,price";
+
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int flushEvery;
+
+    public OrderExportService(OrderRepository orderRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${cafekiosk.order.export.flush-every:500}") int flushEvery) {
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.flushEvery = flushEvery;
+    }
+
+    /**
+     * registeredDateTime 이 [from, to) 인 주문을 내보낸다. 커서가 트랜잭션 안에서만 열려 있으므로 여기서 트랜잭션을 연다.
+     */
+    public void export(LocalDateTime from, LocalDateTime to, OrderExportFormat format, OutputStream out) {
+        validatePeriod(from, to);
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<OrderProductRow> rows = orderRepository.streamOrderProductRowsByRegisteredBetween(from, to)) {
+                switch (format) {
+                    case NDJSON -> writeNdjson(rows.iterator(), out);
+                    case CSV -> writeCsv(rows.iterator(), out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("주문을 내보내지 못했습니다.", e);
+            }
+        });
+    }
+
+    /**
+     * 응답 스트림에 쓰기 시작하면 상태 코드를 바꿀 수 없으므로, 컨트롤러는 본문을 만들기 전에 이것으로 먼저 검사한다.
+     */
+    public static void validatePeriod(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("시작 시각은 종료 시각보다 빨라야 합니다.");
+        }
+    }
+
+    /**
+     * 행은 주문 id 순이므로, 주문 id 가 바뀔 때마다 모아 둔 주문 한 건을 한 줄로 쓴다.
+     */
+    private void writeNdjson(Iterator<OrderProductRow> rows, OutputStream out) throws IOException {
+        int written = 0;
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET) // 응답 스트림은 컨테이너가 닫는다.
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            List<OrderProductRow> order = new ArrayList<>();
+            while (rows.hasNext()) {
+                OrderProductRow row = rows.next();
+                if (!order.isEmpty() && !order.get(0).getOrderId().equals(row.getOrderId())) {
+                    writer.write(OrderResponse.of(order));
+                    order.clear();
+                    if (++written % flushEvery == 0) {
+                        writer.flush();
+                    }
+                }
+                order.add(row);
+            }
+            if (!order.isEmpty()) {
+                writer.write(OrderResponse.of(order));
+                written++;
+            }
+        }
+        if (written > 0) {
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * 주문상품 한 건당 한 줄을 쓴다. 주문상품이 없는 주문은 상품 칸을 비운 한 줄로 쓴다.
+     */
+    private void writeCsv(Iterator<OrderProductRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        int written = 0;
+        while (rows.hasNext()) {
+            OrderProductRow row = rows.next();
+            writer.write(String.valueOf(row.getOrderId()));
+            writer.write(',');
+            writer.write(row.getOrderStatus().name());
+            writer.write(',');
+            writer.write(String.valueOf(row.getTotalPrice()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getRegisteredDateTime()));
+            writer.write(',');
+            writer.write(escapeCsv(row.getProductNumber()));
+            writer.write(',');
+            writer.write(escapeCsv(row.getName()));
+            writer.write(',');
+            if (row.hasProduct()) {
+                writer.write(String.valueOf(row.getPrice()));
+            }
+            writer.write('\n');
+            if (++written % flushEvery == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,11 @@
+package sample.cafekiosk.spring.api.service.order.idempotency;
+
+/**
+ * 같은 Idempotency-Key 의 앞선 요청이 wait-timeout-ms 안에 끝나지 않았을 때. 409 로 응답한다.
+ */
+public class OrderIdempotencyInProgressException extends IllegalStateException {
+
+    public OrderIdempotencyInProgressException(String message) {
+        super(message);
+    }
+}
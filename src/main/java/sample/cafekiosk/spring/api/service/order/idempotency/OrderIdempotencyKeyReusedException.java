@@ -0,0 +1,11 @@
+package sample.cafekiosk.spring.api.service.order.idempotency;
+
+/**
+ * 이미 쓴 Idempotency-Key 로 요청 본문이 다른 주문이 들어왔을 때. 처음 주문을 돌려주지 않고 422 로 응답한다.
+ */
+public class OrderIdempotencyKeyReusedException extends IllegalArgumentException {
+
+    public OrderIdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
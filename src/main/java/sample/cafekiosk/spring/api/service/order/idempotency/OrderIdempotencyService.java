@@ -0,0 +1,248 @@
+package sample.cafekiosk.spring.api.service.order.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.stock.StockConflictRetry;
+import sample.cafekiosk.spring.domain.order.OrderIdempotency;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRepository;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Idempotency-Key 가 붙은 주문 생성. 키오스크가 응답을 못 받고 다시 보내도 주문과 재고 차감은 한 번만 일어난다.
+ *
+ * 1. 메모리 캐시(최대 cache-size 건, cache-ttl-seconds 동안)에 응답이 있으면 바로 돌려준다.
+ * 2. 같은 키를 이 서버에서 처리하고 있으면 그 결과를 기다린다. (wait-timeout-ms 를 넘기면 409)
+ * 3. order_idempotency 에 저장된 응답이 있으면 돌려준다. (재시작 이후, 다른 서버가 처리한 경우)
+ * 4. 없으면 주문을 만들고, 같은 트랜잭션에 키와 응답을 저장한다. 다른 서버와 동시에 저장하면 unique 키에 걸려
+ *    이쪽 트랜잭션(주문, 재고 차감)은 롤백되고 먼저 저장된 응답을 돌려준다.
+ *
+ * 키와 함께 요청 본문의 해시를 저장해 두고, 같은 키로 본문이 다른 요청이 오면 처음 주문을 돌려주지 않고 422 로 거절한다.
+ * 실패한 주문(재고 부족 등)은 저장하지 않으므로 같은 키로 다시 시도할 수 있다.
+ */
+@Service
+public class OrderIdempotencyService {
+
+    private final OrderService orderService;
+    private final OrderIdempotencyRepository orderIdempotencyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StockConflictRetry stockConflictRetry;
+    private final ObjectMapper objectMapper;
+    private final Duration cacheTtl;
+    private final long waitTimeoutMillis;
+    private final Duration retention;
+
+    private final Map<String, RunningOrder> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, CachedResponse> cache;
+    private final ReentrantLock cacheLock = new ReentrantLock();
+
+    public OrderIdempotencyService(OrderService orderService,
+                                   OrderIdempotencyRepository orderIdempotencyRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   StockConflictRetry stockConflictRetry,
+                                   ObjectMapper objectMapper,
+                                   @Value("${cafekiosk.order.idempotency.cache-size:10000}") int cacheSize,
+                                   @Value("${cafekiosk.order.idempotency.cache-ttl-seconds:600}") long cacheTtlSeconds,
+                                   @Value("${cafekiosk.order.idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis,
+                                   @Value("${cafekiosk.order.idempotency.retention-hours:24}") long retentionHours) {
+        this.orderService = orderService;
+        this.orderIdempotencyRepository = orderIdempotencyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stockConflictRetry = stockConflictRetry;
+        this.objectMapper = objectMapper;
+        this.cacheTtl = Duration.ofSeconds(cacheTtlSeconds);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.retention = Duration.ofHours(retentionHours);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) { // 가장 오래 안 쓴 키부터 밀어낸다.
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public OrderResponse createOrder(String idempotencyKey, OrderCreateRequest request, LocalDateTime registeredDateTime) {
+        validate(idempotencyKey);
+        String requestHash = hash(request);
+        CachedResponse cached = getCached(idempotencyKey);
+        if (cached != null) {
+            verifySameRequest(cached.requestHash(), requestHash);
+            return cached.response();
+        }
+
+        RunningOrder order = new RunningOrder(requestHash, new CompletableFuture<>());
+        RunningOrder running = inFlight.putIfAbsent(idempotencyKey, order);
+        if (running != null) {
+            verifySameRequest(running.requestHash(), requestHash);
+            return await(running.future());
+        }
+        try {
+            OrderResponse response = findStored(idempotencyKey, requestHash)
+                    .orElseGet(() -> createAndStore(idempotencyKey, requestHash, request, registeredDateTime));
+            putCache(idempotencyKey, requestHash, response);
+            order.future().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            order.future().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(idempotencyKey, order);
+        }
+    }
+
+    /**
+     * retention-hours 가 지난 키는 지운다. 그 뒤에 같은 키로 오면 새 주문으로 처리한다.
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.order.idempotency.purge-interval-minutes:60}", timeUnit = TimeUnit.MINUTES)
+    public void purgeExpired() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        transactionTemplate.executeWithoutResult(status -> orderIdempotencyRepository.deleteAllCreatedBefore(before));
+
+        Instant now = Instant.now();
+        cacheLock.lock();
+        try {
+            cache.values().removeIf(cachedResponse -> cachedResponse.isExpired(now));
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private OrderResponse createAndStore(String idempotencyKey, String requestHash, OrderCreateRequest request, LocalDateTime registeredDateTime) {
+        try {
+            return stockConflictRetry.execute(() -> transactionTemplate.execute(status -> {
+                OrderResponse response = orderService.createOrder(request, registeredDateTime);
+                orderIdempotencyRepository.save(OrderIdempotency.create(idempotencyKey, response.getId(), requestHash, write(response)));
+                return response;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 서버가 같은 키로 먼저 저장했다.
+            return findStored(idempotencyKey, requestHash).orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<OrderResponse> findStored(String idempotencyKey, String requestHash) {
+        return orderIdempotencyRepository.findByIdempotencyKey(idempotencyKey)
+                .map(orderIdempotency -> {
+                    verifySameRequest(orderIdempotency.getRequestHash(), requestHash);
+                    return read(orderIdempotency.getResponse());
+                });
+    }
+
+    /**
+     * storedHash 가 null 이면 해시를 저장하기 전에 만든 키이므로 검사하지 않는다.
+     */
+    private void verifySameRequest(String storedHash, String requestHash) {
+        if (storedHash != null && !storedHash.equals(requestHash)) {
+            throw new OrderIdempotencyKeyReusedException("이미 다른 주문에 쓴 Idempotency-Key 입니다. 새 주문에는 새 키를 보내주세요.");
+        }
+    }
+
+    private OrderResponse await(CompletableFuture<OrderResponse> running) {
+        try {
+            return running.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new OrderIdempotencyInProgressException("같은 주문을 처리하고 있습니다. 잠시 후 다시 시도해주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrderIdempotencyInProgressException("같은 주문을 처리하고 있습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    private CachedResponse getCached(String idempotencyKey) {
+        cacheLock.lock();
+        try {
+            CachedResponse cachedResponse = cache.get(idempotencyKey);
+            if (cachedResponse == null) {
+                return null;
+            }
+            if (cachedResponse.isExpired(Instant.now())) {
+                cache.remove(idempotencyKey);
+                return null;
+            }
+            return cachedResponse;
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private void putCache(String idempotencyKey, String requestHash, OrderResponse response) {
+        cacheLock.lock();
+        try {
+            cache.put(idempotencyKey, new CachedResponse(requestHash, response, Instant.now().plus(cacheTtl)));
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private void validate(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > OrderIdempotency.MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key 는 1~" + OrderIdempotency.MAX_KEY_LENGTH + "자여야 합니다.");
+        }
+    }
+
+    /**
+     * 요청 본문을 JSON 으로 직렬화한 SHA-256. 필드 순서가 클래스 선언 순서로 고정이라 같은 요청이면 같은 값이 나온다.
+     */
+    private String hash(OrderCreateRequest request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("주문 요청을 해시하지 못했습니다.", e);
+        }
+    }
+
+    private String write(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 응답을 저장하지 못했습니다.", e);
+        }
+    }
+
+    private OrderResponse read(String response) {
+        try {
+            return objectMapper.readValue(response, OrderResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 주문 응답을 읽지 못했습니다.", e);
+        }
+    }
+
+    private record RunningOrder(String requestHash, CompletableFuture<OrderResponse> future) {
+    }
+
+    private record CachedResponse(String requestHash, OrderResponse response, Instant expiresAt) {
+
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package sample.cafekiosk.spring.api.service.order.intake;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResult;
+import sample.cafekiosk.spring.api.service.order.response.OrderIntakeResponse;
+import sample.cafekiosk.spring.api.service.stock.StockConflictRetry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 주문을 큐에 넣고 바로 202 로 응답하는 비동기 접수 모드. (cafekiosk.order.intake.enabled)
+ *
+ * writer 스레드 하나가 큐에서 최대 group-size 건을 모아 OrderService.createOrders 로 한 트랜잭션에 저장한다(group commit).
+ * 큐가 가득 차면 OrderIntakeUnavailableException(503) 을 던지고, 종료할 때는 접수를 막은 뒤 큐에 남은 주문을 모두 저장한다.
+ */
+@Slf4j
+@Service
+public class OrderIntakeService implements SmartLifecycle {
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final OrderService orderService;
+    private final StockConflictRetry stockConflictRetry;
+    private final boolean enabled;
+    private final int groupSize;
+    private final long maxWaitNanos;
+    private final Duration ticketTtl;
+
+    private final BlockingQueue<OrderIntakeTicket> queue;
+    private final Map<String, OrderIntakeTicket> tickets = new ConcurrentHashMap<>();
+    private final DistributionSummary groupSizeSummary;
+
+    // 접수(read)와 종료(write)를 나눠서, 종료를 시작한 뒤에는 큐에 새 주문이 들어오지 않게 한다.
+    private final ReadWriteLock intakeLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread writer;
+
+    public OrderIntakeService(OrderService orderService,
+                              StockConflictRetry stockConflictRetry,
+                              MeterRegistry meterRegistry,
+                              @Value("${cafekiosk.order.intake.enabled:false}") boolean enabled,
+                              @Value("${cafekiosk.order.intake.queue-capacity:1000}") int queueCapacity,
+                              @Value("${cafekiosk.order.intake.group-size:50}") int groupSize,
+                              @Value("${cafekiosk.order.intake.max-wait-ms:5}") long maxWaitMillis,
+                              @Value("${cafekiosk.order.intake.ticket-ttl-seconds:600}") long ticketTtlSeconds) {
+        this.orderService = orderService;
+        this.stockConflictRetry = stockConflictRetry;
+        this.enabled = enabled;
+        this.groupSize = groupSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.ticketTtl = Duration.ofSeconds(ticketTtlSeconds);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("cafekiosk.order.intake.queue", queue, Collection::size)
+                .description("저장을 기다리는 접수 주문 수")
+                .register(meterRegistry);
+        this.groupSizeSummary = DistributionSummary.builder("cafekiosk.order.intake.group")
+                .description("한 트랜잭션에 함께 저장한 주문 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public OrderIntakeResponse submit(OrderCreateRequest request, LocalDateTime registeredDateTime) {
+        OrderIntakeTicket ticket = new OrderIntakeTicket(request, registeredDateTime);
+        intakeLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new OrderIntakeUnavailableException("주문 접수를 받지 않고 있습니다.");
+            }
+            tickets.put(ticket.getId(), ticket);
+            if (!queue.offer(ticket)) {
+                tickets.remove(ticket.getId());
+                throw new OrderIntakeUnavailableException("주문이 몰려 접수하지 못했습니다. 잠시 후 다시 시도해주세요.");
+            }
+        } finally {
+            intakeLock.readLock().unlock();
+        }
+        return OrderIntakeResponse.of(ticket);
+    }
+
+    public OrderIntakeResponse getTicket(String ticketId) {
+        OrderIntakeTicket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            throw new IllegalArgumentException("존재하지 않는 접수 번호입니다.");
+        }
+        return OrderIntakeResponse.of(ticket);
+    }
+
+    /**
+     * 결과가 나온 지 ticket-ttl-seconds 가 지난 접수 번호는 지운다.
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.order.intake.ticket-ttl-seconds:600}", timeUnit = TimeUnit.SECONDS)
+    public void evictExpiredTickets() {
+        Instant expiredBefore = Instant.now().minus(ticketTtl);
+        tickets.values().removeIf(ticket -> ticket.isCompletedBefore(expiredBefore));
+    }
+
+    @Override
+    public void start() {
+        intakeLock.writeLock().lock();
+        try {
+            running = true;
+            writer = new Thread(this::drain, "order-intake-writer");
+            writer.start();
+        } finally {
+            intakeLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void stop() {
+        intakeLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            intakeLock.writeLock().unlock();
+        }
+        try {
+            writer.join(SHUTDOWN_TIMEOUT.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.error("종료 전에 저장하지 못한 접수 주문이 {}건 있습니다.", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return enabled;
+    }
+
+    /**
+     * 웹 서버(SmartLifecycle.DEFAULT_PHASE - 2048)가 요청을 더 받지 않게 된 뒤에 멈춘다.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<OrderIntakeTicket> group = new ArrayList<>(groupSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                OrderIntakeTicket first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                collectGroup(group);
+                write(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * 큐에 쌓인 만큼 바로 가져오고, 모자라면 max-wait-ms 까지만 더 기다린다.
+     */
+    private void collectGroup(List<OrderIntakeTicket> group) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (group.size() < groupSize) {
+            queue.drainTo(group, groupSize - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= groupSize || remaining <= 0 || !running) {
+                return;
+            }
+            OrderIntakeTicket next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    private void write(List<OrderIntakeTicket> group) {
+        groupSizeSummary.record(group.size());
+        try {
+            OrderBatchResponse response = stockConflictRetry.execute(() -> orderService.createOrders(
+                    group.stream().map(OrderIntakeTicket::getRequest).toList(),
+                    group.stream().map(OrderIntakeTicket::getRegisteredDateTime).toList()));
+            for (OrderBatchResult result : response.getResults()) {
+                OrderIntakeTicket ticket = group.get(result.getIndex());
+                if (result.isSuccess()) {
+                    ticket.accept(result.getOrder());
+                } else {
+                    ticket.reject(result.getMessage(), result.getProductNumbers());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("접수 주문 {}건을 저장하지 못했습니다.", group.size(), e);
+            group.forEach(ticket -> ticket.reject("주문을 저장하지 못했습니다. 다시 주문해주세요.", List.of()));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.api.service.order.intake;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OrderIntakeStatus {
+
+    QUEUED("접수대기"),
+    ACCEPTED("주문생성"),
+    REJECTED("주문실패");
+
+    private final String text;
+}
@@ -0,0 +1,50 @@
+package sample.cafekiosk.spring.api.service.order.intake;
+
+import lombok.Getter;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 비동기로 접수한 주문 한 건. 키오스크는 id 로 최종 결과를 조회한다.
+ * writer 스레드가 결과를 채우고 status 를 마지막에 바꾸므로, status 가 QUEUED 가 아니면 나머지 값도 채워져 있다.
+ */
+@Getter
+public class OrderIntakeTicket {
+
+    private final String id = UUID.randomUUID().toString();
+    private final OrderCreateRequest request;
+    private final LocalDateTime registeredDateTime;
+
+    private volatile OrderResponse order;
+    private volatile String message;
+    private volatile List<String> productNumbers = List.of();
+    private volatile Instant completedAt;
+    private volatile OrderIntakeStatus status = OrderIntakeStatus.QUEUED;
+
+    OrderIntakeTicket(OrderCreateRequest request, LocalDateTime registeredDateTime) {
+        this.request = request;
+        this.registeredDateTime = registeredDateTime;
+    }
+
+    void accept(OrderResponse order) {
+        this.order = order;
+        this.completedAt = Instant.now();
+        this.status = OrderIntakeStatus.ACCEPTED;
+    }
+
+    void reject(String message, List<String> productNumbers) {
+        this.message = message;
+        this.productNumbers = productNumbers;
+        this.completedAt = Instant.now();
+        this.status = OrderIntakeStatus.REJECTED;
+    }
+
+    boolean isCompletedBefore(Instant time) {
+        return status != OrderIntakeStatus.QUEUED && completedAt.isBefore(time);
+    }
+}
@@ -0,0 +1,11 @@
+package sample.cafekiosk.spring.api.service.order.intake;
+
+/**
+ * 접수 큐가 가득 찼거나 종료 중이라 주문을 받을 수 없을 때. 503 으로 응답한다.
+ */
+public class OrderIntakeUnavailableException extends IllegalStateException {
+
+    public OrderIntakeUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,43 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class OrderBatchResult {
+
+    private int index; // 요청 목록에서의 위치
+    private boolean success;
+    private OrderResponse order;
+    private String message;
+    private List<String> productNumbers; // 실패 원인이 된 상품 번호
+
+    @Builder
+    private OrderBatchResult(int index, boolean success, OrderResponse order, String message, List<String> productNumbers) {
+        this.index = index;
+        this.success = success;
+        this.order = order;
+        this.message = message;
+        this.productNumbers = productNumbers;
+    }
+
+    public static OrderBatchResult success(int index, OrderResponse order) {
+        return OrderBatchResult.builder()
+                .index(index)
+                .success(true)
+                .order(order)
+                .productNumbers(List.of())
+                .build();
+    }
+
+    public static OrderBatchResult failure(int index, String message, List<String> productNumbers) {
+        return OrderBatchResult.builder()
+                .index(index)
+                .success(false)
+                .message(message)
+                .productNumbers(productNumbers)
+                .build();
+    }
+}
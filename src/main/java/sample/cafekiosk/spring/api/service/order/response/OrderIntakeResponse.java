@@ -0,0 +1,42 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.api.service.order.intake.OrderIntakeStatus;
+import sample.cafekiosk.spring.api.service.order.intake.OrderIntakeTicket;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+public class OrderIntakeResponse {
+
+    private String ticketId;
+    private OrderIntakeStatus status;
+    private LocalDateTime registeredDateTime;
+    private OrderResponse order; // ACCEPTED 일 때만
+    private String message; // REJECTED 일 때만
+    private List<String> productNumbers; // 실패 원인이 된 상품 번호
+
+    @Builder
+    private OrderIntakeResponse(String ticketId, OrderIntakeStatus status, LocalDateTime registeredDateTime, OrderResponse order, String message, List<String> productNumbers) {
+        this.ticketId = ticketId;
+        this.status = status;
+        this.registeredDateTime = registeredDateTime;
+        this.order = order;
+        this.message = message;
+        this.productNumbers = productNumbers;
+    }
+
+    public static OrderIntakeResponse of(OrderIntakeTicket ticket) {
+        OrderIntakeStatus status = ticket.getStatus(); // 먼저 읽어야 나머지 값이 같은 시점의 것이다.
+        return OrderIntakeResponse.builder()
+                .ticketId(ticket.getId())
+                .status(status)
+                .registeredDateTime(ticket.getRegisteredDateTime())
+                .order(ticket.getOrder())
+                .message(ticket.getMessage())
+                .productNumbers(ticket.getProductNumbers())
+                .build();
+    }
+}
@@ -1,8 +1,12 @@
 package sample.cafekiosk.spring.api.service.order.response;
 
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderProductRow;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 
 import java.time.LocalDateTime;
@@ -11,17 +15,20 @@ import java.util.stream.Collectors;
 
 
 @Getter
+@NoArgsConstructor(access = AccessLevel.PRIVATE) // 저장해 둔 JSON 을 다시 읽을 때 (Idempotency-Key)
 public class OrderResponse {
 
 
     private Long id;
+    private OrderStatus orderStatus;
     private int totalPrice;
     private LocalDateTime registeredDateTime;
     private List<ProductResponse> products;
 
     @Builder
-    private OrderResponse(Long id, int totalPrice, LocalDateTime registeredDateTime, List<ProductResponse> products) {
+    private OrderResponse(Long id, OrderStatus orderStatus, int totalPrice, LocalDateTime registeredDateTime, List<ProductResponse> products) {
         this.id = id;
+        this.orderStatus = orderStatus;
         this.totalPrice = totalPrice;
         this.registeredDateTime = registeredDateTime;
         this.products = products;
@@ -30,6 +37,7 @@ public class OrderResponse {
     public static OrderResponse of(Order order) {
         return OrderResponse.builder()
                 .id(order.getId())
+                .orderStatus(order.getOrderStatus())
                 .totalPrice(order.getTotalPrice())
                 .registeredDateTime(order.getRegisteredDateTime())
                 .products(order.getOrderProducts().stream()
@@ -37,4 +45,29 @@ public class OrderResponse {
                         .collect(Collectors.toList()))
                 .build();
     }
+
+    /**
+     * 한 주문의 OrderProductRow 목록(주문상품 순서)으로 만든다. 엔티티를 거치지 않으므로 지연 로딩이 없다.
+     * 주문상품이 없는 주문은 상품 값이 빈 한 줄이므로 상품 목록이 비어 있다.
+     */
+    public static OrderResponse of(List<OrderProductRow> rows) {
+        OrderProductRow first = rows.get(0);
+        return OrderResponse.builder()
+                .id(first.getOrderId())
+                .orderStatus(first.getOrderStatus())
+                .totalPrice(first.getTotalPrice())
+                .registeredDateTime(first.getRegisteredDateTime())
+                .products(rows.stream()
+                        .filter(OrderProductRow::hasProduct)
+                        .map(row -> ProductResponse.builder()
+                                .id(row.getProductId())
+                                .productNumber(row.getProductNumber())
+                                .type(row.getType())
+                                .sellingStatus(row.getSellingStatus())
+                                .name(row.getName())
+                                .price(row.getPrice())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
 }
@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+@Getter
+public class OrderStatusChangeFailure {
+
+    private Long orderId;
+    private OrderStatus orderStatus; // 현재 상태 (없는 주문이면 null)
+    private String message;
+
+    @Builder
+    private OrderStatusChangeFailure(Long orderId, OrderStatus orderStatus, String message) {
+        this.orderId = orderId;
+        this.orderStatus = orderStatus;
+        this.message = message;
+    }
+
+    public static OrderStatusChangeFailure of(Long orderId, OrderStatus orderStatus, String message) {
+        return OrderStatusChangeFailure.builder()
+                .orderId(orderId)
+                .orderStatus(orderStatus)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class OrderStatusChangeResponse {
+
+    private List<Long> changedOrderIds; // 이 요청이 바꾼 주문
+    private List<Long> alreadyChangedOrderIds; // 다른 요청이 먼저 같은 상태로 바꿔 둔 주문
+    private List<OrderStatusChangeFailure> failures;
+
+    @Builder
+    private OrderStatusChangeResponse(List<Long> changedOrderIds, List<Long> alreadyChangedOrderIds, List<OrderStatusChangeFailure> failures) {
+        this.changedOrderIds = changedOrderIds;
+        this.alreadyChangedOrderIds = alreadyChangedOrderIds;
+        this.failures = failures;
+    }
+
+    public static OrderStatusChangeResponse of(List<Long> changedOrderIds, List<Long> alreadyChangedOrderIds, List<OrderStatusChangeFailure> failures) {
+        return OrderStatusChangeResponse.builder()
+                .changedOrderIds(changedOrderIds)
+                .alreadyChangedOrderIds(alreadyChangedOrderIds)
+                .failures(failures)
+                .build();
+    }
+}
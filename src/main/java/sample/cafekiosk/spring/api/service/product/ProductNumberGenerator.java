@@ -0,0 +1,97 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequence;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * product_number_sequence 테이블에서 번호를 블록 단위로 받아와 메모리에서 하나씩 나눠준다.
+ * 블록을 받아올 때만 DB 에 가고(행 락), 여러 노드가 같은 번호를 받는 일은 없다.
+ * 노드가 내려가면 쓰지 않은 번호는 건너뛰게 된다.
+ */
+@Component
+public class ProductNumberGenerator {
+
+    static final String SEQUENCE_NAME = "product_number";
+    private static final int MAX_INIT_ATTEMPTS = 3;
+
+    private final ProductNumberSequenceRepository sequenceRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+
+    // synchronized 안에서 블록을 받아오면(JDBC) 가상 스레드가 캐리어 스레드에 고정(pinning)된다.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long next; // 이번 블록에서 다음에 줄 번호
+    private long limit; // 이번 블록의 끝 (미포함)
+
+    public ProductNumberGenerator(ProductNumberSequenceRepository sequenceRepository,
+                                  ProductRepository productRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${cafekiosk.product.number-block-size:100}") int blockSize) {
+        this.sequenceRepository = sequenceRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    public String next() {
+        lock.lock();
+        try {
+            if (next >= limit) {
+                next = allocateBlock();
+                limit = next + blockSize;
+            }
+            return String.format("%03d", next++); // 9 -> 009, 10 -> 010
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 받아 둔 블록을 버린다. 다음 번호는 시퀀스 행에서 새 블록을 받아 준다. (테스트에서 시퀀스 행을 지우고 처음부터 다시 셀 때)
+     */
+    void reset() {
+        lock.lock();
+        try {
+            next = 0;
+            limit = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long allocateBlock() {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> sequenceRepository.findForUpdateByName(SEQUENCE_NAME)
+                        .orElseGet(this::startSequence)
+                        .allocate(blockSize));
+            } catch (DataIntegrityViolationException e) {
+                // 다른 노드가 동시에 시퀀스 행을 처음 만든 경우. 다시 읽으면 그 행을 잠그고 쓴다.
+                if (attempt >= MAX_INIT_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 시퀀스 행이 없으면 기존 상품의 가장 마지막 번호 다음부터 시작한다.
+     */
+    private ProductNumberSequence startSequence() {
+        String latestProductNumber = productRepository.findLatestProductNumber();
+        long start = latestProductNumber == null ? 1 : Long.parseLong(latestProductNumber) + 1;
+        return sequenceRepository.save(ProductNumberSequence.start(SEQUENCE_NAME, start));
+    }
+}
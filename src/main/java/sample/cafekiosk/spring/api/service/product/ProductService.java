@@ -1,12 +1,17 @@
 package sample.cafekiosk.spring.api.service.product;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.CursorPage;
 import sample.cafekiosk.spring.api.service.product.dto.request.ProductCreateRequest;
 import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductCatalogVersion;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingProductsBody;
 import sample.cafekiosk.spring.domain.product.ProductType;
 
 import java.util.List;
@@ -14,15 +19,23 @@ import java.util.stream.Collectors;
 
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
 
+/**
+ * 조회는 readOnly 트랜잭션이다. replica 가 설정돼 있으면 replica 에서 읽는다. (DataSourceConfig)
+ * 카탈로그 버전으로 캐시하는 판매 상품 목록만 primary 에서 읽는다.
+ */
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductCatalogVersion productCatalogVersion;
+    private final SellingProductsCache sellingProductsCache;
+    private final ProductNumberGenerator productNumberGenerator;
 
-    // 동시성 이슈
+    @Transactional
     public ProductResponse createProduct(ProductCreateRequest request) {
-        String nextProductNumber = createNextProductNumber();
+        String nextProductNumber = productNumberGenerator.next();
 
         Product product = request.toEntity(nextProductNumber);
         Product savedProduct = productRepository.save(product);
@@ -30,22 +43,44 @@ public class ProductService {
         return ProductResponse.of(savedProduct);
     }
 
+    /**
+     * 카탈로그 버전이 그대로면 캐시된 목록을 돌려준다. (상품이 바뀌면 ProductCatalogListener 가 버전을 올린다.)
+     *
+     * 버전은 primary 커밋 기준으로 올라가므로, 그 버전으로 캐시할 목록도 primary 에서 읽는다. (readOnly 가 아니다.)
+     * replica 에서 읽으면 아직 복제되지 않은 옛 목록이 새 버전과 ETag 로 다음 변경 때까지 남는다.
+     */
+    @Transactional
     public List<ProductResponse> getSellingProducts() {
-        List<Product> products = productRepository.findAllBySellingStatusIn(ProductSellingStatus.forDisplay());
-        return products.stream()
-                .map(ProductResponse::of)
-                .collect(Collectors.toList());
+        return sellingProductsCache.get(productCatalogVersion.current(), this::loadSellingProducts);
+    }
+
+    /**
+     * getSellingProducts 를 ApiResponse 로 감싼 응답 본문. 카탈로그 버전이 그대로면 미리 만들어 둔 바이트를 돌려준다.
+     * 같은 이유로 primary 에서 읽는다.
+     */
+    @Transactional
+    public SellingProductsBody getSellingProductsBody() {
+        return sellingProductsCache.getBody(productCatalogVersion.current(), this::loadSellingProducts);
     }
 
-    private String createNextProductNumber() {
-        String latestProductNumber = productRepository.findLatestProductNumber();
-        if (latestProductNumber == null) {
-            return "001";
-        }
-        int latestProductNumberInt = Integer.parseInt(latestProductNumber);
-        int nextProductNumberInt = latestProductNumberInt + 1;
+    /**
+     * 판매 상품을 id 순으로 size 개씩. 매장 상품이 많아져도 한 번에 전부 읽지 않는다.
+     */
+    public CursorPage<ProductResponse> getSellingProducts(String cursor, int size) {
+        int pageSize = CursorPage.limitSize(size);
+        List<Product> products = productRepository.findAllBySellingStatusInAndIdGreaterThanOrderByIdAsc(
+                ProductSellingStatus.forDisplay(), CursorPage.decode(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(products, pageSize, Product::getId, ProductResponse::of);
+    }
 
-        return String.format("%03d", nextProductNumberInt); // 9 -> 009, 10 -> 010
+    public String getSellingProductsETag() {
+        return productCatalogVersion.eTagOf(productCatalogVersion.current());
+    }
 
+    private List<ProductResponse> loadSellingProducts() {
+        List<Product> products = productRepository.findAllBySellingStatusIn(ProductSellingStatus.forDisplay());
+        return products.stream()
+                .map(ProductResponse::of)
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,53 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingProductsBody;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 판매 상품 목록을 카탈로그 버전별로 한 벌만 들고 있는다. 응답 바이트(SellingProductsBody)도 같은 버전으로 함께 만든다.
+ */
+@Component
+public class SellingProductsCache {
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final ObjectMapper objectMapper;
+    private final boolean gzip;
+
+    public SellingProductsCache(ObjectMapper objectMapper,
+                                @Value("${cafekiosk.product.selling-gzip:true}") boolean gzip) {
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+    }
+
+    public List<ProductResponse> get(long version, Supplier<List<ProductResponse>> loader) {
+        return getSnapshot(version, loader).products();
+    }
+
+    public SellingProductsBody getBody(long version, Supplier<List<ProductResponse>> loader) {
+        return getSnapshot(version, loader).body();
+    }
+
+    private Snapshot getSnapshot(long version, Supplier<List<ProductResponse>> loader) {
+        Snapshot cached = snapshot.get();
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+
+        List<ProductResponse> products = List.copyOf(loader.get());
+        Snapshot loaded = new Snapshot(version, products, SellingProductsBody.encode(objectMapper, products, gzip));
+        // 더 새로운 버전이 먼저 들어가 있으면 덮어쓰지 않는다.
+        snapshot.accumulateAndGet(loaded, (current, next) ->
+                current != null && current.version() > next.version() ? current : next);
+        return loaded;
+    }
+
+    private record Snapshot(long version, List<ProductResponse> products, SellingProductsBody body) {
+    }
+}
@@ -1,12 +1,15 @@
 package sample.cafekiosk.spring.api.service.product.response;
 
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
 
 @Getter
+@NoArgsConstructor(access = AccessLevel.PRIVATE) // 저장해 둔 JSON 을 다시 읽을 때 (Idempotency-Key)
 public class ProductResponse {
     private Long id;
     private String productNumber;
@@ -0,0 +1,59 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import sample.cafekiosk.spring.api.ApiResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 판매 상품 응답(ApiResponse 전체)을 미리 JSON 바이트로 만들어 둔 것. 카탈로그 버전이 바뀔 때만 다시 만든다.
+ * 키오스크가 폴링할 때마다 Jackson 을 거치지 않고 이 바이트를 그대로 쓴다. 배열은 밖으로 내주지 않는다.
+ */
+public class SellingProductsBody {
+
+    private final byte[] json;
+    private final byte[] gzip; // gzip 을 끄면 null
+
+    private SellingProductsBody(byte[] json, byte[] gzip) {
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    public static SellingProductsBody encode(ObjectMapper objectMapper, List<ProductResponse> products, boolean gzip) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponse.ok(products));
+            return new SellingProductsBody(json, gzip ? compress(json) : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("판매 상품 응답을 만들지 못했습니다.", e);
+        }
+    }
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    public int getLength(boolean gzipped) {
+        return bytes(gzipped).length;
+    }
+
+    public void writeTo(OutputStream out, boolean gzipped) throws IOException {
+        out.write(bytes(gzipped));
+    }
+
+    private byte[] bytes(boolean gzipped) {
+        return gzipped && gzip != null ? gzip : json;
+    }
+
+    private static byte[] compress(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        }
+        return out.toByteArray();
+    }
+}
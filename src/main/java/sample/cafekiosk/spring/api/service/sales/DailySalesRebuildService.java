@@ -0,0 +1,134 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.sales.response.DailySalesMismatch;
+import sample.cafekiosk.spring.api.service.sales.response.DailySalesVerifyResponse;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.sales.DailySales;
+import sample.cafekiosk.spring.domain.sales.DailySalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesRow;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 원본에서 daily_sales 를 다시 계산한다. (백필, 검증용)
+ *
+ * 주문 id 를 chunk-size 개씩 끊어서 상품번호별로 합산하므로, 하루 주문이 많아도 한 번에 읽는 양은 일정하다.
+ * 취소/결제 실패로 끝난 주문(OrderStatus.NOT_SOLD)은 세지 않는다.
+ * 매출은 주문상품에 가격이 남지 않아 현재 상품 가격으로 계산한다. 주문 후 가격이 바뀐 상품은 불일치로 보일 수 있다.
+ * 주문이 들어오고 있는 날짜를 다시 만들면 그 사이에 더해진 값이 빠질 수 있으니 지난 날짜에 쓴다.
+ */
+@Service
+public class DailySalesRebuildService {
+
+    private final OrderRepository orderRepository;
+    private final DailySalesRepository dailySalesRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int chunkSize;
+
+    public DailySalesRebuildService(OrderRepository orderRepository,
+                                    DailySalesRepository dailySalesRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${cafekiosk.sales.rebuild-chunk-size:1000}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.dailySalesRepository = dailySalesRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.chunkSize = chunkSize;
+    }
+
+    public DailySalesVerifyResponse verify(LocalDate salesDate) {
+        return readOnlyTransactionTemplate.execute(status -> compare(salesDate, false));
+    }
+
+    /**
+     * 날짜마다 별도 트랜잭션으로 지우고 다시 넣는다. 중간에 실패해도 앞서 끝난 날짜는 그대로 남는다.
+     */
+    public List<DailySalesVerifyResponse> rebuild(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("시작 날짜는 종료 날짜보다 늦을 수 없습니다.");
+        }
+        List<DailySalesVerifyResponse> responses = new ArrayList<>();
+        for (LocalDate salesDate = from; !salesDate.isAfter(to); salesDate = salesDate.plusDays(1)) {
+            LocalDate date = salesDate;
+            responses.add(transactionTemplate.execute(status -> compare(date, true)));
+        }
+        return responses;
+    }
+
+    private DailySalesVerifyResponse compare(LocalDate salesDate, boolean rebuild) {
+        Map<String, DailySalesRow> expected = aggregate(salesDate);
+        Map<String, DailySales> actual = dailySalesRepository.findAllBySalesDateOrderByProductNumber(salesDate).stream()
+                .collect(Collectors.toMap(DailySales::getProductNumber, Function.identity()));
+
+        List<DailySalesMismatch> mismatches = new ArrayList<>();
+        TreeSet<String> productNumbers = new TreeSet<>(expected.keySet());
+        productNumbers.addAll(actual.keySet());
+        for (String productNumber : productNumbers) {
+            DailySalesRow row = expected.get(productNumber);
+            DailySales dailySales = actual.get(productNumber);
+            long expectedQuantity = row == null ? 0 : row.getQuantity();
+            long expectedRevenue = row == null ? 0 : row.getRevenue();
+            long actualQuantity = dailySales == null ? 0 : dailySales.getQuantity();
+            long actualRevenue = dailySales == null ? 0 : dailySales.getRevenue();
+            if (expectedQuantity != actualQuantity || expectedRevenue != actualRevenue) {
+                mismatches.add(DailySalesMismatch.builder()
+                        .productNumber(productNumber)
+                        .expectedQuantity(expectedQuantity)
+                        .actualQuantity(actualQuantity)
+                        .expectedRevenue(expectedRevenue)
+                        .actualRevenue(actualRevenue)
+                        .build());
+            }
+        }
+
+        if (rebuild) {
+            dailySalesRepository.deleteAllBySalesDate(salesDate);
+            dailySalesRepository.saveAll(expected.values().stream()
+                    .map(row -> DailySales.create(salesDate, row.getProductNumber(), row.getQuantity(), row.getRevenue()))
+                    .toList());
+        }
+        return DailySalesVerifyResponse.builder()
+                .salesDate(salesDate)
+                .productCount(expected.size())
+                .rebuilt(rebuild)
+                .mismatches(mismatches)
+                .build();
+    }
+
+    private Map<String, DailySalesRow> aggregate(LocalDate salesDate) {
+        LocalDateTime start = salesDate.atStartOfDay();
+        LocalDateTime end = salesDate.plusDays(1).atStartOfDay();
+
+        Map<String, DailySalesRow> totals = new TreeMap<>();
+        long afterId = 0;
+        while (true) {
+            List<Long> orderIds = orderRepository.findIdsByRegisteredBetween(start, end, afterId, Limit.of(chunkSize));
+            if (orderIds.isEmpty()) {
+                return totals;
+            }
+            for (DailySalesRow row : dailySalesRepository.sumOrderProductsByOrderIdIn(orderIds, OrderStatus.NOT_SOLD)) {
+                totals.merge(row.getProductNumber(), row, (total, chunk) -> new DailySalesRow(
+                        total.getProductNumber(),
+                        total.getQuantity() + chunk.getQuantity(),
+                        total.getRevenue() + chunk.getRevenue()));
+            }
+            afterId = orderIds.get(orderIds.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.service.sales.response.DailySalesResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 주문을 저장하는 트랜잭션 안에서 daily_sales 를 함께 늘린다. 리포트는 orders / order_product 를 훑지 않고 이 테이블만 읽는다.
+ * 취소/결제 실패로 끝난 주문(OrderStatus.NOT_SOLD)은 상태를 바꾼 트랜잭션에서 다시 뺀다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class DailySalesService {
+
+    private final DailySalesRepository dailySalesRepository;
+    private final OrderRepository orderRepository;
+
+    /**
+     * (일자, 상품번호) 별로 모아서 행마다 merge 한 번씩 더한다. 그날 처음 팔린 상품이면 그 자리에서 행을 만든다.
+     * 집계 행은 커밋까지 잠기므로, 주문끼리 교착되지 않도록 항상 같은 순서(일자, 상품번호)로 갱신한다.
+     */
+    public void record(List<Order> orders) {
+        apply(orders, 1);
+    }
+
+    /**
+     * 방금 취소/결제 실패로 바뀐 주문만 넘긴다. 이미 빠진 주문을 다시 넘기면 두 번 빠진다.
+     * 매출은 record 와 같이 현재 상품 가격으로 뺀다.
+     */
+    public void subtract(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        apply(orderRepository.findAllWithProductsByIdIn(new ArrayList<>(orderIds)), -1);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailySalesResponse> getDailySales(LocalDate salesDate) {
+        return dailySalesRepository.findAllBySalesDateOrderByProductNumber(salesDate).stream()
+                .map(DailySalesResponse::of)
+                .toList();
+    }
+
+    private void apply(List<Order> orders, int sign) {
+        Map<SalesKey, Tally> tallies = new TreeMap<>();
+        for (Order order : orders) {
+            LocalDate salesDate = order.getRegisteredDateTime().toLocalDate();
+            order.getOrderProducts().forEach(orderProduct -> tallies.merge(
+                    new SalesKey(salesDate, orderProduct.getProduct().getProductNumber()),
+                    new Tally(sign, (long) sign * orderProduct.getProduct().getPrice()),
+                    Tally::plus));
+        }
+        tallies.forEach((key, tally) ->
+                dailySalesRepository.add(key.salesDate(), key.productNumber(), tally.quantity(), tally.revenue()));
+    }
+
+    private record SalesKey(LocalDate salesDate, String productNumber) implements Comparable<SalesKey> {
+
+        private static final Comparator<SalesKey> ORDER = Comparator.comparing(SalesKey::salesDate)
+                .thenComparing(SalesKey::productNumber);
+
+        @Override
+        public int compareTo(SalesKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private record Tally(long quantity, long revenue) {
+
+        Tally plus(Tally other) {
+            return new Tally(quantity + other.quantity, revenue + other.revenue);
+        }
+    }
+}
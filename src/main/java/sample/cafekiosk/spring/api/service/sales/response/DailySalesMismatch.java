@@ -0,0 +1,23 @@
+package sample.cafekiosk.spring.api.service.sales.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class DailySalesMismatch {
+
+    private String productNumber;
+    private long expectedQuantity; // 주문에서 다시 센 값
+    private long actualQuantity; // daily_sales 에 있던 값
+    private long expectedRevenue;
+    private long actualRevenue;
+
+    @Builder
+    private DailySalesMismatch(String productNumber, long expectedQuantity, long actualQuantity, long expectedRevenue, long actualRevenue) {
+        this.productNumber = productNumber;
+        this.expectedQuantity = expectedQuantity;
+        this.actualQuantity = actualQuantity;
+        this.expectedRevenue = expectedRevenue;
+        this.actualRevenue = actualRevenue;
+    }
+}
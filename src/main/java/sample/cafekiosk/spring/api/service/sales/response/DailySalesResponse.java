@@ -0,0 +1,33 @@
+package sample.cafekiosk.spring.api.service.sales.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.sales.DailySales;
+
+import java.time.LocalDate;
+
+@Getter
+public class DailySalesResponse {
+
+    private LocalDate salesDate;
+    private String productNumber;
+    private long quantity;
+    private long revenue;
+
+    @Builder
+    private DailySalesResponse(LocalDate salesDate, String productNumber, long quantity, long revenue) {
+        this.salesDate = salesDate;
+        this.productNumber = productNumber;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+    public static DailySalesResponse of(DailySales dailySales) {
+        return DailySalesResponse.builder()
+                .salesDate(dailySales.getSalesDate())
+                .productNumber(dailySales.getProductNumber())
+                .quantity(dailySales.getQuantity())
+                .revenue(dailySales.getRevenue())
+                .build();
+    }
+}
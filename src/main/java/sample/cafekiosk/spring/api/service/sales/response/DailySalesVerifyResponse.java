@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.api.service.sales.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+public class DailySalesVerifyResponse {
+
+    private LocalDate salesDate;
+    private int productCount; // 주문에서 다시 센 상품 수
+    private boolean rebuilt; // 다시 센 값으로 바꿔 넣었는지
+    private List<DailySalesMismatch> mismatches; // 바꾸기 전 값과 다른 상품
+
+    @Builder
+    private DailySalesVerifyResponse(LocalDate salesDate, int productCount, boolean rebuilt, List<DailySalesMismatch> mismatches) {
+        this.salesDate = salesDate;
+        this.productCount = productCount;
+        this.rebuilt = rebuilt;
+        this.mismatches = mismatches;
+    }
+}
@@ -0,0 +1,37 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 재고를 조회하지 않고 조건부 update 한 번으로 확인과 차감을 같이 한다.
+ * 하나라도 부족하면 예외를 던져 주문 트랜잭션 전체(먼저 반영된 update 포함)를 롤백한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalStockDeductor implements StockDeductor {
+
+    private final StockRepository stockRepository;
+
+    @Override
+    public StockDeductionMode getMode() {
+        return StockDeductionMode.CONDITIONAL;
+    }
+
+    @Override
+    public void deduct(Map<String, Integer> quantities) {
+        List<String> shortProductNumbers = stockRepository.deductAllIfEnough(quantities);
+        if (!shortProductNumbers.isEmpty()) {
+            throw new InsufficientStockException(shortProductNumbers);
+        }
+    }
+
+    @Override
+    public void restore(Map<String, Integer> quantities) {
+        stockRepository.restoreAll(quantities);
+    }
+}
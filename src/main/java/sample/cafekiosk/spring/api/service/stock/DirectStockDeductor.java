@@ -0,0 +1,59 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class DirectStockDeductor implements StockDeductor {
+
+    private final StockRepository stockRepository;
+
+    @Override
+    public StockDeductionMode getMode() {
+        return StockDeductionMode.DIRECT;
+    }
+
+    @Override
+    public void deduct(Map<String, Integer> quantities) {
+        Map<String, Stock> stockMap = createStockMapBy(List.copyOf(quantities.keySet()));
+        deductAll(stockMap, quantities);
+    }
+
+    @Override
+    public void restore(Map<String, Integer> quantities) {
+        stockRepository.restoreAll(quantities);
+    }
+
+    static void deductAll(Map<String, Stock> stockMap, Map<String, Integer> quantities) {
+        List<String> shortProductNumbers = quantities.entrySet().stream()
+                .filter(entry -> {
+                    Stock stock = stockMap.get(entry.getKey());
+                    return stock == null || stock.isQuantityLessThan(entry.getValue());
+                })
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+        if (!shortProductNumbers.isEmpty()) {
+            throw new InsufficientStockException(shortProductNumbers);
+        }
+
+        // 위에서 확인했지만 deductQuantity 에서도 한번 더 보장한다.
+        quantities.forEach((productNumber, quantity) -> stockMap.get(productNumber).deductQuantity(quantity));
+    }
+
+    private Map<String, Stock> createStockMapBy(List<String> stockProductNumbers) {
+        return toStockMap(stockRepository.findAllByProductNumberIn(stockProductNumbers));
+    }
+
+    static Map<String, Stock> toStockMap(List<Stock> stocks) {
+        return stocks.stream()
+                .collect(Collectors.toMap(Stock::getProductNumber, s -> s));
+    }
+}
@@ -0,0 +1,16 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class InsufficientStockException extends IllegalArgumentException {
+
+    private final List<String> productNumbers; // 재고가 부족한 상품 번호
+
+    public InsufficientStockException(List<String> productNumbers) {
+        super("재고가 부족한 상품이 있습니다.");
+        this.productNumbers = List.copyOf(productNumbers);
+    }
+}
@@ -0,0 +1,43 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stock 의 @Version 으로 충돌을 감지한다. 락을 잡지 않고 읽어서 차감하고, 바로 flush 해서 충돌을 커밋 전에 드러낸다.
+ *
+ * 차감은 주문 트랜잭션 안에서 하므로 주문 하나가 커넥션 하나만 쓰고, 주문이 롤백되면 차감도 함께 롤백된다.
+ * 충돌하면 OptimisticLockingFailureException 으로 주문 트랜잭션이 롤백되고,
+ * 주문 트랜잭션 바깥의 StockConflictRetry 가 트랜잭션을 통째로 다시 실행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OptimisticStockDeductor implements StockDeductor {
+
+    private final StockRepository stockRepository;
+
+    @Override
+    public StockDeductionMode getMode() {
+        return StockDeductionMode.OPTIMISTIC;
+    }
+
+    @Override
+    public void deduct(Map<String, Integer> quantities) {
+        List<Stock> stocks = stockRepository.findAllByProductNumberIn(List.copyOf(quantities.keySet()));
+        DirectStockDeductor.deductAll(DirectStockDeductor.toStockMap(stocks), quantities);
+        stockRepository.flush(); // update ... where version = ? 가 여기서 나간다.
+    }
+
+    /**
+     * 주문 트랜잭션 안에서 version 을 올리며 더한다. 동시에 차감하던 요청은 버전 충돌로 다시 시도한다.
+     */
+    @Override
+    public void restore(Map<String, Integer> quantities) {
+        stockRepository.restoreAll(quantities);
+    }
+}
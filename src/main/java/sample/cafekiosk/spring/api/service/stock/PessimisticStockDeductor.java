@@ -0,0 +1,70 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 트랜잭션 안에서 재고 행을 select ... for update 로 잠그고 차감한다.
+ * 락은 커밋/롤백 시점까지 유지되고, 항상 productNumber 오름차순으로 잡아 교착을 피한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PessimisticStockDeductor implements StockDeductor {
+
+    private final StockRepository stockRepository;
+
+    @Override
+    public StockDeductionMode getMode() {
+        return StockDeductionMode.PESSIMISTIC;
+    }
+
+    @Override
+    public void deduct(Map<String, Integer> quantities) {
+        List<String> sortedProductNumbers = quantities.keySet().stream()
+                .sorted()
+                .toList();
+
+        List<Stock> stocks = stockRepository.findAllForUpdateByProductNumberIn(sortedProductNumbers);
+        DirectStockDeductor.deductAll(DirectStockDeductor.toStockMap(stocks), quantities);
+    }
+
+    @Override
+    public void restore(Map<String, Integer> quantities) {
+        stockRepository.restoreAll(quantities);
+    }
+
+    /**
+     * 주문 여러 건에 필요한 재고 행을 한 번에 잠그고, 주문 순서대로 메모리에서 나눠준다.
+     * 재고가 부족한 주문은 아무것도 차감하지 않고 건너뛴다.
+     *
+     * @return 주문별 재고가 부족한 상품번호 (비어있으면 차감 성공)
+     */
+    public List<List<String>> deductEach(List<Map<String, Integer>> quantitiesPerOrder) {
+        List<String> sortedProductNumbers = quantitiesPerOrder.stream()
+                .flatMap(quantities -> quantities.keySet().stream())
+                .distinct()
+                .sorted()
+                .toList();
+
+        Map<String, Stock> stockMap = sortedProductNumbers.isEmpty()
+                ? Map.of()
+                : DirectStockDeductor.toStockMap(stockRepository.findAllForUpdateByProductNumberIn(sortedProductNumbers));
+
+        List<List<String>> results = new ArrayList<>();
+        for (Map<String, Integer> quantities : quantitiesPerOrder) {
+            try {
+                DirectStockDeductor.deductAll(stockMap, quantities);
+                results.add(List.of());
+            } catch (InsufficientStockException e) {
+                results.add(e.getProductNumbers());
+            }
+        }
+        return results;
+    }
+}
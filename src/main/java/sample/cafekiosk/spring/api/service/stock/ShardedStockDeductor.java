@@ -0,0 +1,207 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.domain.stock.StockShardRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 주문이 몰리는 상품은 재고를 stock_shard 여러 행으로 나눠, 차감이 한 행의 락에 줄 서지 않게 한다.
+ * 샤드 수는 cafekiosk.stock.sharded.shard-counts 에 상품번호별로 적는다. (예: 001:8,002:4) 없는 상품은 conditional 모드와 같다.
+ *
+ * - 샤드 두 개를 무작위로 골라, 이 서버에서 아직 커밋되지 않은 차감이 적은 쪽부터 조건부 update 한다.
+ * - 그 샤드가 모자라면 다음 샤드들을 차례로 시도한다.
+ * - 어느 한 샤드로도 모자라면 stock 행과 샤드를 모두 잠그고 전체에서 빼고 남은 양을 다시 나눈다. (처음 나눌 때도 이 경로)
+ * - 주문 상품 중 하나라도 모자라면 앞서 뺀 것을 되돌리고 예외를 던진다. 일괄 주문에서 주문별로 나눠 실패시키기 위해서다.
+ *
+ * 상품의 전체 재고는 stock.quantity + 샤드 합이다. (getQuantity)
+ */
+@Component
+public class ShardedStockDeductor implements StockDeductor {
+
+    private final StockRepository stockRepository;
+    private final StockShardRepository stockShardRepository;
+    private final Map<String, Integer> shardCounts;
+
+    // 상품별, 샤드별로 아직 트랜잭션이 끝나지 않은 차감 수. 행 락을 잡고 있을 가능성이 높은 샤드를 피하는 데 쓴다.
+    private final Map<String, AtomicIntegerArray> inFlight = new ConcurrentHashMap<>();
+
+    public ShardedStockDeductor(StockRepository stockRepository,
+                                StockShardRepository stockShardRepository,
+                                @Value("${cafekiosk.stock.sharded.shard-counts:}") String shardCounts) {
+        this.stockRepository = stockRepository;
+        this.stockShardRepository = stockShardRepository;
+        this.shardCounts = parseShardCounts(shardCounts);
+    }
+
+    @Override
+    public StockDeductionMode getMode() {
+        return StockDeductionMode.SHARDED;
+    }
+
+    @Override
+    public void deduct(Map<String, Integer> quantities) {
+        Map<String, Integer> plainQuantities = new HashMap<>();
+        List<ShardDeduction> deducted = new ArrayList<>();
+        List<String> shortProductNumbers = new ArrayList<>();
+        for (String productNumber : quantities.keySet().stream().sorted().toList()) {
+            int quantity = quantities.get(productNumber);
+            Integer shardCount = shardCounts.get(productNumber);
+            if (shardCount == null) {
+                plainQuantities.put(productNumber, quantity);
+                continue;
+            }
+            ShardDeduction deduction = deductFromShards(productNumber, shardCount, quantity);
+            if (deduction == null) {
+                shortProductNumbers.add(productNumber);
+            } else {
+                deducted.add(deduction);
+            }
+        }
+
+        if (shortProductNumbers.isEmpty() && !plainQuantities.isEmpty()) {
+            List<String> shortPlainProductNumbers = stockRepository.deductAllIfEnough(plainQuantities);
+            if (!shortPlainProductNumbers.isEmpty()) {
+                stockRepository.restoreAll(without(plainQuantities, shortPlainProductNumbers));
+                shortProductNumbers.addAll(shortPlainProductNumbers);
+            }
+        }
+        if (!shortProductNumbers.isEmpty()) {
+            deducted.forEach(deduction -> stockShardRepository.addQuantity(deduction.productNumber(), deduction.shardNo(), deduction.quantity()));
+            throw new InsufficientStockException(shortProductNumbers.stream().sorted().toList());
+        }
+    }
+
+    /**
+     * 주문 여러 건을 한 트랜잭션에서 주문별로 차감한다.
+     * 주문마다 잠그면 일괄 주문 두 건이 서로 다른 순서로 행을 잠가 교착될 수 있으므로,
+     * 일괄 주문 전체의 상품번호를 정렬해 먼저 모두 잠근 뒤 차감한다. (PessimisticStockDeductor.deductEach 와 같은 방식)
+     *
+     * @return 주문별 재고가 부족한 상품번호 (비어있으면 차감 성공)
+     */
+    public List<List<String>> deductEach(List<Map<String, Integer>> quantitiesPerOrder) {
+        quantitiesPerOrder.stream()
+                .flatMap(quantities -> quantities.keySet().stream())
+                .distinct()
+                .sorted()
+                .forEach(stockShardRepository::lockForUpdate);
+
+        List<List<String>> results = new ArrayList<>();
+        for (Map<String, Integer> quantities : quantitiesPerOrder) {
+            try {
+                deduct(quantities);
+                results.add(List.of());
+            } catch (InsufficientStockException e) {
+                results.add(e.getProductNumbers());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 샤드를 나눈 상품은 무작위 샤드 하나에 더한다.
+     */
+    @Override
+    public void restore(Map<String, Integer> quantities) {
+        Map<String, Integer> plainQuantities = new HashMap<>();
+        quantities.forEach((productNumber, quantity) -> {
+            Integer shardCount = shardCounts.get(productNumber);
+            if (shardCount == null) {
+                plainQuantities.put(productNumber, quantity);
+            } else {
+                stockShardRepository.addQuantity(productNumber, ThreadLocalRandom.current().nextInt(shardCount), quantity);
+            }
+        });
+        if (!plainQuantities.isEmpty()) {
+            stockRepository.restoreAll(plainQuantities);
+        }
+    }
+
+    public int getQuantity(String productNumber) {
+        return stockShardRepository.sumQuantity(productNumber);
+    }
+
+    public int getShardCount(String productNumber) {
+        return shardCounts.getOrDefault(productNumber, 1);
+    }
+
+    /**
+     * @return 뺀 샤드. 모자라면 null (아무것도 바꾸지 않는다)
+     */
+    private ShardDeduction deductFromShards(String productNumber, int shardCount, int quantity) {
+        AtomicIntegerArray counters = inFlight.computeIfAbsent(productNumber, key -> new AtomicIntegerArray(shardCount));
+        int first = pickShard(counters, shardCount);
+        for (int offset = 0; offset < shardCount; offset++) {
+            int shardNo = (first + offset) % shardCount;
+            if (stockShardRepository.deductIfEnough(productNumber, shardNo, quantity)) {
+                trackInFlight(counters, shardNo);
+                return new ShardDeduction(productNumber, shardNo, quantity);
+            }
+        }
+        if (!stockShardRepository.deductAndResplit(productNumber, shardCount, quantity)) {
+            return null;
+        }
+        return new ShardDeduction(productNumber, first, quantity); // 되돌릴 때는 아무 샤드에 더해도 된다.
+    }
+
+    /**
+     * 무작위 두 샤드 중 처리 중인 차감이 적은 쪽. (power of two choices)
+     */
+    private int pickShard(AtomicIntegerArray counters, int shardCount) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int a = random.nextInt(shardCount);
+        int b = random.nextInt(shardCount);
+        return counters.get(a) <= counters.get(b) ? a : b;
+    }
+
+    private void trackInFlight(AtomicIntegerArray counters, int shardNo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        counters.incrementAndGet(shardNo);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                counters.decrementAndGet(shardNo);
+            }
+        });
+    }
+
+    private static Map<String, Integer> without(Map<String, Integer> quantities, List<String> productNumbers) {
+        Map<String, Integer> remaining = new HashMap<>(quantities);
+        productNumbers.forEach(remaining::remove);
+        return remaining;
+    }
+
+    private static Map<String, Integer> parseShardCounts(String value) {
+        Map<String, Integer> shardCounts = new HashMap<>();
+        if (value.isBlank()) {
+            return shardCounts;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalStateException("cafekiosk.stock.sharded.shard-counts 는 001:8,002:4 형식이어야 합니다. (" + value + ")");
+            }
+            int shardCount = Integer.parseInt(parts[1].trim());
+            if (shardCount < 1) {
+                throw new IllegalStateException("샤드 수는 1 이상이어야 합니다. (" + entry + ")");
+            }
+            shardCounts.put(parts[0].trim(), shardCount);
+        }
+        return shardCounts;
+    }
+
+    private record ShardDeduction(String productNumber, int shardNo, int quantity) {
+    }
+}
@@ -0,0 +1,71 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 재고 버전 충돌(Stock 의 @Version)로 실패한 주문 트랜잭션을 처음부터 다시 실행한다.
+ *
+ * 충돌한 트랜잭션은 롤백될 수밖에 없으므로, 재시도는 트랜잭션을 여는 쪽 바깥(서비스 경계)에서 action 전체를 다시 부른다.
+ * 이미 트랜잭션 안에서 불렸다면 재시도하지 않고 한 번만 실행한다. 그 트랜잭션을 연 바깥에서 다시 시도해야 한다.
+ */
+@Component
+public class StockConflictRetry {
+
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+
+    private final AtomicLong retryCount = new AtomicLong();
+
+    public StockConflictRetry(@Value("${cafekiosk.stock.optimistic.max-attempts:5}") int maxAttempts,
+                              @Value("${cafekiosk.stock.optimistic.backoff-ms:10}") long backoffMillis,
+                              @Value("${cafekiosk.stock.optimistic.max-backoff-ms:200}") long maxBackoffMillis) {
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * @param action 트랜잭션 하나를 열고 끝내는 호출 (예: @Transactional 서비스 메서드, TransactionTemplate.execute)
+     */
+    public <T> T execute(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new IllegalStateException("재고 차감 요청이 몰려 처리하지 못했습니다. 잠시 후 다시 시도해주세요.", e);
+                }
+                retryCount.incrementAndGet();
+                backoff(attempt);
+            }
+        }
+    }
+
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /**
+     * 지수 백오프 + 지터. 같은 순간에 충돌한 요청들이 같은 순간에 다시 부딪히지 않도록 흩뜨린다.
+     */
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, backoffMillis << (attempt - 1));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재고 차감 재시도 중 중단되었습니다.", e);
+        }
+    }
+}
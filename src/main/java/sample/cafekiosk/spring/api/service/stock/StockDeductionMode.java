@@ -0,0 +1,18 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum StockDeductionMode {
+
+    DIRECT("엔티티 조회 후 변경감지로 차감"),
+    LEDGER("메모리 원장에서 차감 후 일괄 반영"),
+    OPTIMISTIC("버전 충돌 시 재시도"),
+    PESSIMISTIC("상품번호 순서대로 행 락"),
+    CONDITIONAL("조건부 update batch"),
+    SHARDED("인기 상품은 여러 샤드 행에 나눠 조건부 update");
+
+    private final String text;
+}
@@ -0,0 +1,82 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * cafekiosk.stock.deduction-mode 설정에 따라 재고 차감 방식을 고른다.
+ */
+@Service
+public class StockDeductionService {
+
+    private final Map<StockDeductionMode, StockDeductor> deductors = new EnumMap<>(StockDeductionMode.class);
+    private final PessimisticStockDeductor pessimisticStockDeductor;
+    private final ShardedStockDeductor shardedStockDeductor;
+    private final StockDeductionMode mode;
+
+    public StockDeductionService(List<StockDeductor> deductors,
+                                 PessimisticStockDeductor pessimisticStockDeductor,
+                                 ShardedStockDeductor shardedStockDeductor,
+                                 @Value("${cafekiosk.stock.deduction-mode:direct}") StockDeductionMode mode) {
+        deductors.forEach(deductor -> this.deductors.put(deductor.getMode(), deductor));
+        if (!this.deductors.containsKey(mode)) {
+            throw new IllegalStateException("사용할 수 없는 재고 차감 방식입니다: " + mode);
+        }
+        this.pessimisticStockDeductor = pessimisticStockDeductor;
+        this.shardedStockDeductor = shardedStockDeductor;
+        this.mode = mode;
+    }
+
+    public void deduct(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        deductors.get(mode).deduct(quantities);
+    }
+
+    /**
+     * 예약했던 재고를 돌려준다. 차감과 같은 방식(원장 / DB)으로 더해야 서로 덮어쓰지 않는다.
+     */
+    public void restore(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        deductors.get(mode).restore(quantities);
+    }
+
+    /**
+     * 주문 여러 건을 한 번에 차감한다. 주문마다 전부 차감되거나 하나도 차감되지 않는다.
+     * DB 에 재고를 두는 모드는 필요한 행을 한 번에 잠그고 메모리에서 나눠주며, 원장 모드는 주문별로 차감한다.
+     * 샤드 모드는 재고가 stock 행에 모여 있지 않으므로, 필요한 stock/샤드 행을 상품번호 순으로 먼저 잠근 뒤 주문별로 차감한다.
+     *
+     * @return 주문별 재고가 부족한 상품번호 (비어있으면 차감 성공)
+     */
+    public List<List<String>> deductEach(List<Map<String, Integer>> quantitiesPerOrder) {
+        if (mode == StockDeductionMode.SHARDED) {
+            return shardedStockDeductor.deductEach(quantitiesPerOrder);
+        }
+        if (mode != StockDeductionMode.LEDGER) {
+            return pessimisticStockDeductor.deductEach(quantitiesPerOrder);
+        }
+
+        List<List<String>> results = new ArrayList<>();
+        for (Map<String, Integer> quantities : quantitiesPerOrder) {
+            try {
+                deduct(quantities);
+                results.add(List.of());
+            } catch (InsufficientStockException e) {
+                results.add(e.getProductNumbers());
+            }
+        }
+        return results;
+    }
+
+    public StockDeductionMode getMode() {
+        return mode;
+    }
+}
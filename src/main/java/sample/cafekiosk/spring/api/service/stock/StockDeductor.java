@@ -0,0 +1,19 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.Map;
+
+public interface StockDeductor {
+
+    StockDeductionMode getMode();
+
+    /**
+     * key: productNumber, value: 차감할 수량
+     * 하나라도 부족하면 아무것도 차감하지 않고 예외를 던진다.
+     */
+    void deduct(Map<String, Integer> quantities);
+
+    /**
+     * 차감했던 수량을 돌려준다. (예약 반환) 호출한 트랜잭션이 롤백되면 반환도 없던 일이 된다.
+     */
+    void restore(Map<String, Integer> quantities);
+}
@@ -0,0 +1,302 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 재고 수량을 상품번호별 AtomicInteger 로 메모리에 들고 있으면서 차감 가능 여부를 DB 락 없이 판단한다.
+ * 차감/반환한 수량은 주문 트랜잭션 안에서 stock_ledger_journal 에 delta 로 남기고,
+ * 주기적으로 stock 테이블에 quantity = quantity + delta 로 더한 뒤 지운다.
+ *
+ * - 카운터마다 CAS 로 0 미만이 되지 않을 때만 차감하므로 초과 판매가 없다.
+ * - 주문 하나의 여러 상품 중 하나라도 부족하면 앞서 차감한 상품을 되돌린다.
+ * - 주문 트랜잭션이 롤백되면 저널도 함께 롤백되고, 메모리의 차감분을 되돌린다.
+ * - 커밋된 차감은 저널에 남아 있으므로, flush 전에 서버가 죽어도 기동 시 stock + 저널 합으로 원장을 다시 만든다.
+ *
+ * 원장은 서버 메모리에 있으므로 ledger 모드는 서버 한 대에서만 켤 수 있다.
+ * 기동 시 stock_ledger_lease 를 가져오고, 다른 서버가 갱신 중이면 기동에 실패한다. (flush 마다 갱신)
+ * 같은 DB 를 쓰는 다른 모드의 서버도 두면 안 된다. stock 을 직접 차감하면 원장이 모르는 채로 팔 수 있다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "cafekiosk.stock", name = "deduction-mode", havingValue = "ledger")
+public class StockLedger implements StockDeductor {
+
+    private static final String LEASE_NAME = "stock-ledger";
+    private static final int FLUSH_CHUNK_SIZE = 1_000;
+    private static final String SELECT_QUANTITY = "select s.product_number, s.quantity + coalesce(j.delta, 0) as quantity from stock s"
+            + " left join (select product_number, sum(delta) as delta from stock_ledger_journal group by product_number) j"
+            + " on j.product_number = s.product_number";
+
+    private final Map<String, AtomicInteger> ledger = new ConcurrentHashMap<>();
+    private final String owner = UUID.randomUUID().toString();
+    private volatile boolean leaseHeld;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration leaseTimeout;
+
+    public StockLedger(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${cafekiosk.stock.ledger.lease-seconds:30}") long leaseSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseTimeout = Duration.ofSeconds(leaseSeconds);
+    }
+
+    @Override
+    public StockDeductionMode getMode() {
+        return StockDeductionMode.LEDGER;
+    }
+
+    @Override
+    public void deduct(Map<String, Integer> quantities) {
+        checkLease();
+        Map<String, AtomicInteger> counters = countersOf(quantities.keySet());
+
+        Map<String, Integer> deducted = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            AtomicInteger counter = counters.get(entry.getKey());
+            if (counter == null || !tryDeduct(counter, entry.getValue())) {
+                giveBack(deducted);
+                throw new InsufficientStockException(findShortProductNumbers(counters, quantities));
+            }
+            deducted.put(entry.getKey(), entry.getValue());
+        }
+
+        // 저널을 쓰다 실패해도 롤백되면서 되돌아가도록 먼저 등록한다.
+        boolean inTransaction = restoreOnRollback(deducted);
+        try {
+            appendJournal(deducted, -1);
+        } catch (RuntimeException e) {
+            if (!inTransaction) {
+                giveBack(deducted);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 저널은 주문 트랜잭션 안에서 쓰고, 원장에는 커밋된 뒤에 더한다. 커밋 전에 더하면 롤백될 수량을 다른 주문이 가져갈 수 있다.
+     */
+    @Override
+    public void restore(Map<String, Integer> quantities) {
+        checkLease();
+        countersOf(quantities.keySet()); // 원장에 아직 없는 상품번호는 먼저 읽어 둔다.
+        appendJournal(quantities, 1);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            giveBack(quantities);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                giveBack(quantities);
+            }
+        });
+    }
+
+    public int getQuantity(String productNumber) {
+        AtomicInteger counter = countersOf(Set.of(productNumber)).get(productNumber);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * 기동 시 원장 소유권을 가져오고, stock 테이블 + 아직 반영되지 않은 저널로 원장을 다시 만든다.
+     * 웹 서버가 요청을 받기 전(빈 초기화)에 끝내야 첫 주문이 빈 원장을 보지 않는다. 스키마는 트랜잭션 매니저(JPA)가 준비된 뒤라 만들어져 있다.
+     * 다른 서버가 원장을 들고 있으면 IllegalStateException 으로 기동에 실패한다.
+     */
+    @PostConstruct
+    public void rebuild() {
+        if (!claimLease()) {
+            throw new IllegalStateException("다른 서버가 ledger 모드로 재고 원장을 쓰고 있습니다. ledger 모드는 서버 한 대에서만 켤 수 있습니다.");
+        }
+
+        Map<String, AtomicInteger> loaded = new HashMap<>();
+        jdbcTemplate.query(SELECT_QUANTITY,
+                (RowCallbackHandler) rs -> {
+                    loaded.put(rs.getString("product_number"), new AtomicInteger(rs.getInt("quantity")));
+                });
+        ledger.clear();
+        ledger.putAll(loaded);
+        log.info("재고 원장 재구성 완료. 상품 수: {}", loaded.size());
+    }
+
+    /**
+     * 커밋된 저널을 상품번호별로 모아 stock 에 더하고 지운다. 더하기만 하므로 stock 의 다른 변경을 덮어쓰지 않는다.
+     * 원장 소유권을 잃었으면 반영하지 않고, 이후 차감도 막는다.
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.stock.ledger.flush-interval-ms:500}")
+    public void flush() {
+        if (!claimLease()) {
+            log.error("다른 서버가 재고 원장 소유권을 가져갔습니다. 이 서버의 ledger 차감을 멈춥니다.");
+            return;
+        }
+        Integer applied;
+        do {
+            applied = transactionTemplate.execute(status -> applyJournal());
+        } while (applied != null && applied == FLUSH_CHUNK_SIZE);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        jdbcTemplate.update("delete from stock_ledger_lease where name = ? and owner = ?", LEASE_NAME, owner);
+        leaseHeld = false;
+    }
+
+    private int applyJournal() {
+        List<Long> ids = new ArrayList<>();
+        Map<String, Integer> deltas = new TreeMap<>(); // 상품번호 순으로 잠근다.
+        jdbcTemplate.query("select id, product_number, delta from stock_ledger_journal order by id limit ?",
+                (RowCallbackHandler) rs -> {
+                    ids.add(rs.getLong("id"));
+                    deltas.merge(rs.getString("product_number"), rs.getInt("delta"), Integer::sum);
+                },
+                FLUSH_CHUNK_SIZE);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate("update stock set quantity = quantity + ?, version = version + 1 where product_number = ?",
+                deltas.entrySet().stream()
+                        .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                        .toList());
+        jdbcTemplate.batchUpdate("delete from stock_ledger_journal where id = ?",
+                ids.stream()
+                        .map(id -> new Object[]{id})
+                        .toList());
+        return ids.size();
+    }
+
+    /**
+     * 내가 들고 있거나 만료된 소유권을 가져온다. 아무도 없으면 새로 만든다.
+     */
+    private boolean claimLease() {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = jdbcTemplate.update(
+                "update stock_ledger_lease set owner = ?, renewed_at = ? where name = ? and (owner = ? or renewed_at < ?)",
+                owner, now, LEASE_NAME, owner, now.minus(leaseTimeout));
+        if (updated == 0) {
+            try {
+                jdbcTemplate.update("insert into stock_ledger_lease (name, owner, renewed_at) values (?, ?, ?)",
+                        LEASE_NAME, owner, now);
+            } catch (DuplicateKeyException e) {
+                leaseHeld = false;
+                return false;
+            }
+        }
+        leaseHeld = true;
+        return true;
+    }
+
+    private void checkLease() {
+        if (!leaseHeld) {
+            throw new StockLedgerUnavailableException("이 서버는 재고 원장 소유권이 없어 ledger 모드로 재고를 바꿀 수 없습니다.");
+        }
+    }
+
+    private void appendJournal(Map<String, Integer> quantities, int sign) {
+        jdbcTemplate.batchUpdate("insert into stock_ledger_journal (product_number, delta) values (?, ?)",
+                quantities.entrySet().stream()
+                        .map(entry -> new Object[]{entry.getKey(), sign * entry.getValue()})
+                        .toList());
+    }
+
+    private List<String> findShortProductNumbers(Map<String, AtomicInteger> counters, Map<String, Integer> quantities) {
+        return quantities.entrySet().stream()
+                .filter(entry -> {
+                    AtomicInteger counter = counters.get(entry.getKey());
+                    return counter == null || counter.get() < entry.getValue();
+                })
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+
+    private boolean tryDeduct(AtomicInteger counter, int quantity) {
+        while (true) {
+            int current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    private void giveBack(Map<String, Integer> deducted) {
+        deducted.forEach((productNumber, quantity) -> ledger.get(productNumber).addAndGet(quantity));
+    }
+
+    /**
+     * @return 트랜잭션 안이라서 롤백 시 되돌리도록 등록했으면 true
+     */
+    private boolean restoreOnRollback(Map<String, Integer> deducted) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    giveBack(deducted);
+                }
+            }
+        });
+        return true;
+    }
+
+    /**
+     * 원장에 없는 상품번호는 stock 테이블 + 저널에서 한번 읽어 채운다. (기동 이후 새로 등록된 재고)
+     */
+    private Map<String, AtomicInteger> countersOf(Set<String> productNumbers) {
+        Map<String, AtomicInteger> counters = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String productNumber : productNumbers) {
+            AtomicInteger counter = ledger.get(productNumber);
+            if (counter == null) {
+                missing.add(productNumber);
+            } else {
+                counters.put(productNumber, counter);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            String placeholders = String.join(",", missing.stream().map(p -> "?").toList());
+            jdbcTemplate.query(SELECT_QUANTITY + " where s.product_number in (" + placeholders + ")",
+                    (RowCallbackHandler) rs -> {
+                        String productNumber = rs.getString("product_number");
+                        AtomicInteger loaded = new AtomicInteger(rs.getInt("quantity"));
+                        counters.put(productNumber, ledger.computeIfAbsent(productNumber, key -> loaded));
+                    },
+                    missing.toArray());
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,11 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+/**
+ * 이 서버가 재고 원장 소유권을 잃어 ledger 모드로 재고를 바꿀 수 없을 때. 503 으로 응답한다.
+ */
+public class StockLedgerUnavailableException extends IllegalStateException {
+
+    public StockLedgerUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,131 @@
+package sample.cafekiosk.spring.api.service.stock.reservation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 만료 시각이 있는 키를 tick 단위 칸(bucket)에 나눠 담아 두는 타이머. (Varghese & Lauck 의 hashed timing wheel)
+ *
+ * - 등록/취소는 O(1) 이고 어느 스레드에서든 부를 수 있다. 등록은 큐에만 넣고, 칸에 옮기는 건 advanceTo 를 부르는 스레드가 한다.
+ * - advanceTo 는 한 스레드에서만 부른다. 지나간 tick 의 칸만 보므로 등록된 키가 수십만 개여도 한 번에 보는 양은 적다.
+ * - 한 바퀴(tick * wheelSize)보다 먼 만료는 남은 바퀴 수(rounds)를 들고 칸에 머문다.
+ * - 같은 키로 다시 등록하면 앞의 등록은 취소된다. 취소된 항목은 칸을 지날 때 버린다.
+ *
+ * 만료 시각은 tick 단위로 올림하므로 최대 tick 만큼 늦게 만료될 수 있다.
+ */
+public class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final Queue<Timeout<K>>[] buckets;
+
+    private final Queue<Timeout<K>> registered = new ConcurrentLinkedQueue<>();
+    private final Map<K, Timeout<K>> timeouts = new ConcurrentHashMap<>();
+
+    private long currentTick; // 다음에 볼 tick. advanceTo 를 부르는 스레드만 읽고 쓴다.
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tick 은 양수여야 합니다.");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheel 크기는 2의 거듭제곱이어야 합니다.");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+    }
+
+    public void schedule(K key, long deadlineMillis) {
+        Timeout<K> timeout = new Timeout<>(key, deadlineMillis);
+        Timeout<K> previous = timeouts.put(key, timeout);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        registered.add(timeout);
+    }
+
+    /**
+     * @return 만료 전에 취소했으면 true
+     */
+    public boolean cancel(K key) {
+        Timeout<K> timeout = timeouts.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+        timeout.cancelled = true;
+        return true;
+    }
+
+    /**
+     * nowMillis 까지 지나간 tick 의 칸을 차례로 비우고, 만료된 키를 돌려준다.
+     */
+    public List<K> advanceTo(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        List<K> expired = new ArrayList<>();
+        while (currentTick <= targetTick) {
+            transferRegistered();
+            expireBucket(buckets[(int) (currentTick & mask)], expired);
+            currentTick++;
+        }
+        return expired;
+    }
+
+    public int size() {
+        return timeouts.size();
+    }
+
+    private void transferRegistered() {
+        Timeout<K> timeout;
+        while ((timeout = registered.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long deadlineTick = Math.max(currentTick, Math.ceilDiv(timeout.deadlineMillis - startMillis, tickMillis));
+            timeout.rounds = (deadlineTick - currentTick) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private void expireBucket(Queue<Timeout<K>> bucket, List<K> expired) {
+        for (int remaining = bucket.size(); remaining > 0; remaining--) {
+            Timeout<K> timeout = bucket.poll();
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                bucket.add(timeout);
+                continue;
+            }
+            // 만료와 취소(또는 재등록)가 겹치면 맵에서 먼저 지운 쪽이 이긴다.
+            if (timeouts.remove(timeout.key, timeout)) {
+                expired.add(timeout.key);
+            }
+        }
+    }
+
+    private static final class Timeout<K> {
+
+        private final K key;
+        private final long deadlineMillis;
+        private long rounds;
+        private volatile boolean cancelled;
+
+        private Timeout(K key, long deadlineMillis) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package sample.cafekiosk.spring.api.service.stock.reservation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.sales.DailySalesService;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionService;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatusRow;
+import sample.cafekiosk.spring.domain.stock.StockReservation;
+import sample.cafekiosk.spring.domain.stock.StockReservationDeadlineRow;
+import sample.cafekiosk.spring.domain.stock.StockReservationRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static sample.cafekiosk.spring.domain.stock.StockReservationStatus.CONFIRMED;
+import static sample.cafekiosk.spring.domain.stock.StockReservationStatus.RESERVED;
+
+/**
+ * 주문이 잡아 둔 재고(stock_reservation)를 결제 결과에 따라 확정하거나 돌려준다.
+ *
+ * 1. 주문 생성: 재고를 차감하고 같은 트랜잭션에 예약을 남긴다. 커밋되면 ttl-seconds 뒤의 만료 타이머를 건다.
+ * 2. PAYMENT_COMPLETED: 예약을 확정한다. 재고는 이미 빠져 있으므로 그대로 둔다.
+ * 3. PAYMENT_FAILED, CANCELED: 예약(확정 포함)을 반환하고 수량을 stock 에 더한다.
+ * 4. 만료: 아직 INIT 인 주문을 CANCELED 로 바꾸고 판매 집계에서 뺀 뒤 3 과 같이 반환한다. 그 사이 결제된 주문은 건드리지 않는다.
+ *
+ * 만료 타이머는 HashedTimingWheel 하나에 주문 id 로 걸고, tick-ms 마다 지나간 칸만 본다.
+ * 예약마다 스레드를 두거나 DB 를 주기적으로 훑지 않는다. 타이머는 메모리에만 있으므로 기동 시 남은 예약으로 다시 건다.
+ */
+@Slf4j
+@Service
+public class StockReservationService {
+
+    private static final Duration EXPIRE_RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final StockReservationRepository stockReservationRepository;
+    private final OrderRepository orderRepository;
+    private final StockDeductionService stockDeductionService;
+    private final DailySalesService dailySalesService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int expireChunkSize;
+    private final HashedTimingWheel<Long> expiryWheel;
+
+    public StockReservationService(StockReservationRepository stockReservationRepository,
+                                   OrderRepository orderRepository,
+                                   StockDeductionService stockDeductionService,
+                                   DailySalesService dailySalesService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${cafekiosk.stock.reservation.ttl-seconds:900}") long ttlSeconds,
+                                   @Value("${cafekiosk.stock.reservation.tick-ms:100}") long tickMillis,
+                                   @Value("${cafekiosk.stock.reservation.wheel-size:4096}") int wheelSize,
+                                   @Value("${cafekiosk.stock.reservation.expire-chunk-size:500}") int expireChunkSize) {
+        this.stockReservationRepository = stockReservationRepository;
+        this.orderRepository = orderRepository;
+        this.stockDeductionService = stockDeductionService;
+        this.dailySalesService = dailySalesService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.expireChunkSize = expireChunkSize;
+        this.expiryWheel = new HashedTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    /**
+     * 주문 트랜잭션 안에서, 재고를 차감한 뒤에 부른다.
+     *
+     * @param quantitiesByOrderId key: 주문 id, value: 상품번호별 차감한 수량 (재고 상품이 없는 주문은 비어 있다)
+     */
+    @Transactional
+    public void reserve(Map<Long, Map<String, Integer>> quantitiesByOrderId) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        List<StockReservation> reservations = new ArrayList<>();
+        List<Long> orderIds = new ArrayList<>();
+        quantitiesByOrderId.forEach((orderId, quantities) -> {
+            if (quantities.isEmpty()) {
+                return;
+            }
+            orderIds.add(orderId);
+            quantities.forEach((productNumber, quantity) ->
+                    reservations.add(StockReservation.create(orderId, productNumber, quantity, expiresAt)));
+        });
+        if (reservations.isEmpty()) {
+            return;
+        }
+        stockReservationRepository.saveAll(reservations);
+
+        long deadlineMillis = toEpochMillis(expiresAt);
+        afterCommit(() -> orderIds.forEach(orderId -> expiryWheel.schedule(orderId, deadlineMillis)));
+    }
+
+    /**
+     * 주문 상태가 target 으로 바뀐 주문들의 예약을 정리한다. 상태를 바꾼 트랜잭션 안에서 부른다.
+     */
+    @Transactional
+    public void onOrderStatusChanged(OrderStatus target, Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        switch (target) {
+            case PAYMENT_COMPLETED -> confirm(orderIds);
+            case PAYMENT_FAILED, CANCELED -> release(orderIds);
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * 지나간 tick 에 만료된 주문을 expire-chunk-size 개씩 별도 트랜잭션으로 처리한다.
+     * 실패한 묶음은 잠시 뒤에 다시 만료되도록 타이머를 다시 건다.
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.stock.reservation.tick-ms:100}")
+    public void expireDue() {
+        List<Long> orderIds = expiryWheel.advanceTo(System.currentTimeMillis());
+        for (int from = 0; from < orderIds.size(); from += expireChunkSize) {
+            List<Long> chunk = orderIds.subList(from, Math.min(from + expireChunkSize, orderIds.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> expire(chunk));
+            } catch (RuntimeException e) {
+                log.error("만료된 재고 예약을 반환하지 못했습니다. 주문 수: {}", chunk.size(), e);
+                long retryAtMillis = System.currentTimeMillis() + EXPIRE_RETRY_DELAY.toMillis();
+                chunk.forEach(orderId -> expiryWheel.schedule(orderId, retryAtMillis));
+            }
+        }
+    }
+
+    /**
+     * 기동 시 아직 예약 중인 주문의 만료 타이머를 다시 건다. 이미 지난 것은 다음 tick 에 만료된다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        // 방금 커밋된 예약까지 봐야 하므로 replica 가 아니라 primary 에서 읽는다.
+        List<StockReservationDeadlineRow> rows = transactionTemplate.execute(status ->
+                stockReservationRepository.findDeadlineRowsByStatus(RESERVED));
+        rows.forEach(row -> expiryWheel.schedule(row.getOrderId(), toEpochMillis(row.getExpiresAt())));
+        log.info("재고 예약 만료 타이머 재등록 완료. 주문 수: {}", rows.size());
+    }
+
+    public int getPendingCount() {
+        return expiryWheel.size();
+    }
+
+    private void confirm(Collection<Long> orderIds) {
+        stockReservationRepository.findAllForUpdateByOrderIdInAndStatusIn(orderIds, EnumSet.of(RESERVED))
+                .forEach(StockReservation::confirm);
+        afterCommit(() -> orderIds.forEach(expiryWheel::cancel));
+    }
+
+    private void release(Collection<Long> orderIds) {
+        List<StockReservation> reservations =
+                stockReservationRepository.findAllForUpdateByOrderIdInAndStatusIn(orderIds, EnumSet.of(RESERVED, CONFIRMED));
+        Map<String, Integer> quantities = new TreeMap<>();
+        for (StockReservation reservation : reservations) {
+            reservation.release();
+            quantities.merge(reservation.getProductNumber(), reservation.getQuantity(), Integer::sum);
+        }
+        stockDeductionService.restore(quantities);
+        afterCommit(() -> orderIds.forEach(expiryWheel::cancel));
+    }
+
+    private void expire(List<Long> orderIds) {
+        // 결제되지 않은 주문만 취소한다. 잠가 두고 바꾸므로, 이미 다른 요청이 취소한 주문을 집계에서 한 번 더 빼지 않는다.
+        List<Long> canceling = orderRepository.findAllForUpdateByIdInAndOrderStatusIn(orderIds, EnumSet.of(OrderStatus.INIT)).stream()
+                .map(Order::getId)
+                .toList();
+        if (!canceling.isEmpty()) {
+            orderRepository.updateOrderStatus(canceling, EnumSet.of(OrderStatus.INIT), OrderStatus.CANCELED, LocalDateTime.now());
+            dailySalesService.subtract(canceling);
+        }
+
+        List<Long> releasing = new ArrayList<>();
+        List<Long> confirming = new ArrayList<>();
+        for (OrderStatusRow row : orderRepository.findStatusRowsByIdIn(orderIds)) {
+            switch (row.getOrderStatus()) {
+                case CANCELED, PAYMENT_FAILED -> releasing.add(row.getOrderId());
+                default -> confirming.add(row.getOrderId()); // 결제 이후 단계로 넘어갔는데 확정이 빠진 주문
+            }
+        }
+        if (!releasing.isEmpty()) {
+            release(releasing);
+        }
+        if (!confirming.isEmpty()) {
+            confirm(confirming);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,50 @@
+package sample.cafekiosk.spring.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 replica 로, 나머지는 primary 로 보낸다.
+ * cafekiosk.datasource.replica.jdbc-url 이 있을 때만 켜진다. 없으면 spring.datasource 하나만 쓴다.
+ *
+ * 트랜잭션 매니저는 시작할 때 커넥션에 setReadOnly(true) 를 걸어 두고, 실제 커넥션은 첫 쿼리에서 받는다(LazyConnectionDataSourceProxy).
+ * 그래서 readOnly 여부를 보고 어느 풀에서 받을지 고를 수 있다. 트랜잭션 밖의 쿼리는 primary 로 간다.
+ * replica 는 primary 보다 늦을 수 있으니 방금 쓴 값을 다시 읽어야 하는 곳은 readOnly 트랜잭션으로 읽지 않는다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "cafekiosk.datasource.replica", name = "jdbc-url")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    @ConfigurationProperties("cafekiosk.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
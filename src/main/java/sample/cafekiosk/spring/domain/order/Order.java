@@ -16,11 +16,13 @@ import java.util.stream.Collectors;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "orders") // order 예약어
+@Table(name = "orders", // order 예약어
+        indexes = @Index(name = "idx_orders_status_registered", columnList = "order_status, registered_date_time")) // 열린 주문 조회
 public class Order extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq_generator")
+    @SequenceGenerator(name = "orders_seq_generator", sequenceName = "orders_seq", allocationSize = 50) // IDENTITY 는 insert 마다 id 를 받아와야 해서 batch 가 꺼진다.
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,57 @@
+package sample.cafekiosk.spring.domain.order;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * Idempotency-Key 로 만든 주문과 그때 보낸 응답. 주문과 같은 트랜잭션에 저장한다.
+ * 같은 키로 다시 요청하면 주문을 다시 만들지 않고 response 를 그대로 돌려준다.
+ * 요청 본문이 다르면 같은 키를 다른 주문에 쓴 것이므로 requestHash 로 가려낸다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_order_idempotency_key", columnNames = "idempotency_key"))
+public class OrderIdempotency extends BaseEntity {
+
+    public static final int MAX_KEY_LENGTH = 100;
+    public static final int REQUEST_HASH_LENGTH = 64;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_idempotency_seq_generator")
+    @SequenceGenerator(name = "order_idempotency_seq_generator", sequenceName = "order_idempotency_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    private Long orderId;
+
+    @Column(length = REQUEST_HASH_LENGTH)
+    private String requestHash; // 요청 본문 SHA-256 (hex). 컬럼이 생기기 전에 저장된 키는 null
+
+    @Lob
+    private String response; // OrderResponse JSON
+
+    private OrderIdempotency(String idempotencyKey, Long orderId, String requestHash, String response) {
+        this.idempotencyKey = idempotencyKey;
+        this.orderId = orderId;
+        this.requestHash = requestHash;
+        this.response = response;
+    }
+
+    public static OrderIdempotency create(String idempotencyKey, Long orderId, String requestHash, String response) {
+        return new OrderIdempotency(idempotencyKey, orderId, requestHash, response);
+    }
+}
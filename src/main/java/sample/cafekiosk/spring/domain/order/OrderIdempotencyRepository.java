@@ -0,0 +1,20 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface OrderIdempotencyRepository extends JpaRepository<OrderIdempotency, Long> {
+
+    @Transactional // 방금 다른 요청이 저장한 키를 봐야 하므로 replica 가 아니라 primary 에서 읽는다.
+    Optional<OrderIdempotency> findByIdempotencyKey(String idempotencyKey);
+
+    @Modifying
+    @Query("delete from OrderIdempotency i where i.createdDateTime < :before")
+    int deleteAllCreatedBefore(@Param("before") LocalDateTime before);
+}
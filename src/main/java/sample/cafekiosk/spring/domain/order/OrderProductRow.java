@@ -0,0 +1,45 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 + 주문상품 + 상품을 한 줄로 펼친 조회 결과. (엔티티를 거치지 않고 OrderResponse 를 만들 때 사용)
+ * 주문 기준 left join 으로 읽으므로, 주문상품이 없는 주문은 상품 쪽 값이 모두 null 인 한 줄로 나온다.
+ */
+@Getter
+public class OrderProductRow {
+
+    private final Long orderId;
+    private final OrderStatus orderStatus;
+    private final int totalPrice;
+    private final LocalDateTime registeredDateTime;
+    private final Long productId;
+    private final String productNumber;
+    private final ProductType type;
+    private final ProductSellingStatus sellingStatus;
+    private final String name;
+    private final Integer price;
+
+    public OrderProductRow(Long orderId, OrderStatus orderStatus, int totalPrice, LocalDateTime registeredDateTime,
+                           Long productId, String productNumber, ProductType type, ProductSellingStatus sellingStatus,
+                           String name, Integer price) {
+        this.orderId = orderId;
+        this.orderStatus = orderStatus;
+        this.totalPrice = totalPrice;
+        this.registeredDateTime = registeredDateTime;
+        this.productId = productId;
+        this.productNumber = productNumber;
+        this.type = type;
+        this.sellingStatus = sellingStatus;
+        this.name = name;
+        this.price = price;
+    }
+
+    public boolean hasProduct() {
+        return productId != null;
+    }
+}
@@ -1,9 +1,115 @@
 package sample.cafekiosk.spring.domain.order;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    /**
+     * OrderProduct.product 가 LAZY 라서 그냥 조회하면 주문상품마다 select 가 한번씩 더 나간다. (N+1)
+     * 주문상품과 상품까지 한 번에 가져온다.
+     */
+    @EntityGraph(attributePaths = {"orderProducts", "orderProducts.product"})
+    Optional<Order> findWithProductsById(Long id);
+
+    /**
+     * 주문상품이 없는 주문도 빠지지 않도록 left join 한다. (id 목록으로 페이지를 만드는 쪽에서 주문이 사라지면 안 된다.)
+     */
+    @Query("select distinct o from Order o left join fetch o.orderProducts op left join fetch op.product where o.id in :ids")
+    List<Order> findAllWithProductsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("select new sample.cafekiosk.spring.domain.order.OrderProductRow("
+            + "o.id, o.orderStatus, o.totalPrice, o.registeredDateTime, "
+            + "p.id, p.productNumber, p.type, p.sellingStatus, p.name, p.price) "
+            + "from Order o left join o.orderProducts op left join op.product p "
+            + "where o.id = :orderId "
+            + "order by op.id")
+    List<OrderProductRow> findOrderProductRowsByOrderId(@Param("orderId") Long orderId);
+
+    @Query("select new sample.cafekiosk.spring.domain.order.OrderStatusRow(o.id, o.orderStatus) from Order o where o.id in :ids")
+    List<OrderStatusRow> findStatusRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 상태를 바꾸기 전에 잠가 둔다. 잠근 주문은 커밋까지 다른 요청이 바꾸지 못하므로, 여기서 읽은 주문이 곧 update 로 바뀌는 주문이다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("select o from Order o where o.id in :ids and o.orderStatus in :statuses order by o.id")
+    List<Order> findAllForUpdateByIdInAndOrderStatusIn(@Param("ids") Collection<Long> ids,
+                                                       @Param("statuses") Collection<OrderStatus> statuses);
+
+    /**
+     * 이전 상태가 sources 중 하나인 주문만 바꾼다. 조회와 update 사이에 다른 화면이 먼저 바꾼 주문은 건너뛴다.
+     * 벌크 update 는 Auditing 을 거치지 않으므로 modifiedDateTime 을 직접 넣는다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Order o set o.orderStatus = :target, o.modifiedDateTime = :modifiedDateTime "
+            + "where o.id in :ids and o.orderStatus in :sources")
+    int updateOrderStatus(@Param("ids") Collection<Long> ids,
+                          @Param("sources") Collection<OrderStatus> sources,
+                          @Param("target") OrderStatus target,
+                          @Param("modifiedDateTime") LocalDateTime modifiedDateTime);
+
+    /**
+     * keyset 페이지. 상품까지 필요하면 findAllWithProductsByIdIn 으로 한 번 더 읽는다. (fetch join 에 limit 을 걸면 메모리에서 자른다.)
+     */
+    @Query("select o.id from Order o where o.id > :afterId order by o.id")
+    List<Long> findIdsByIdGreaterThan(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * (order_status, registered_date_time) 인덱스로 찾는다. 상품까지 필요하면 id 로 findAllWithProductsByIdIn 을 한 번 더 부른다.
+     */
+    @Query("select o.id from Order o "
+            + "where o.orderStatus in :statuses and o.registeredDateTime >= :since "
+            + "order by o.registeredDateTime")
+    List<Long> findIdsByOrderStatusInAndRegisteredSince(@Param("statuses") Collection<OrderStatus> statuses,
+                                                        @Param("since") LocalDateTime since,
+                                                        Limit limit);
+
+    /**
+     * registeredDateTime 이 [start, end) 인 주문 id 를 afterId 다음부터 limit 개씩 읽는다. (일별 집계 재계산용)
+     */
+    @Query("select o.id from Order o "
+            + "where o.registeredDateTime >= :start and o.registeredDateTime < :end and o.id > :afterId "
+            + "order by o.id")
+    List<Long> findIdsByRegisteredBetween(@Param("start") LocalDateTime start,
+                                          @Param("end") LocalDateTime end,
+                                          @Param("afterId") Long afterId,
+                                          Limit limit);
+
+    /**
+     * 내보내기용. 결과를 한 번에 올리지 않고 fetch size 만큼씩 읽는 forward-only 커서로 흘려보낸다.
+     * DTO 로 읽으므로 영속성 컨텍스트에 엔티티가 쌓이지 않는다. 트랜잭션 안에서 쓰고 반드시 닫아야 한다.
+     * 주문 기준 left join 이라 주문상품이 없는 주문도 상품 값이 빈 한 줄로 나온다.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new sample.cafekiosk.spring.domain.order.OrderProductRow("
+            + "o.id, o.orderStatus, o.totalPrice, o.registeredDateTime, "
+            + "p.id, p.productNumber, p.type, p.sellingStatus, p.name, p.price) "
+            + "from Order o left join o.orderProducts op left join op.product p "
+            + "where o.registeredDateTime >= :from and o.registeredDateTime < :to "
+            + "order by o.id, op.id")
+    Stream<OrderProductRow> streamOrderProductRowsByRegisteredBetween(@Param("from") LocalDateTime from,
+                                                                      @Param("to") LocalDateTime to);
 }
@@ -4,6 +4,9 @@ package sample.cafekiosk.spring.domain.order;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 @Getter
 @RequiredArgsConstructor
 public enum OrderStatus {
@@ -16,4 +19,28 @@ public enum OrderStatus {
     COMPLETED("처리완료");
 
     private final String text;
-}
\ No newline at end of file
+
+    // 바리스타 화면에 남아 있어야 하는(아직 끝나지 않은) 주문
+    public static final Set<OrderStatus> OPEN = EnumSet.of(INIT, PAYMENT_COMPLETED, RECEIVED);
+
+    // 판매 집계(daily_sales)에서 빠지는 주문. 한 번 들어오면 다른 상태로 나가지 않는다.
+    public static final Set<OrderStatus> NOT_SOLD = EnumSet.of(CANCELED, PAYMENT_FAILED);
+
+    /**
+     * 이 상태로 바뀔 수 있는 이전 상태들.
+     * INIT -> PAYMENT_COMPLETED -> RECEIVED -> COMPLETED, 결제 전에는 PAYMENT_FAILED, 접수 전까지는 CANCELED 로 갈 수 있다.
+     */
+    public Set<OrderStatus> getSources() {
+        return switch (this) {
+            case INIT -> EnumSet.noneOf(OrderStatus.class);
+            case PAYMENT_COMPLETED, PAYMENT_FAILED -> EnumSet.of(INIT);
+            case CANCELED -> EnumSet.of(INIT, PAYMENT_COMPLETED);
+            case RECEIVED -> EnumSet.of(PAYMENT_COMPLETED);
+            case COMPLETED -> EnumSet.of(RECEIVED);
+        };
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return target.getSources().contains(this);
+    }
+}
@@ -0,0 +1,18 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.Getter;
+
+/**
+ * 상태 변경 전에 현재 상태만 확인하기 위한 조회 결과.
+ */
+@Getter
+public class OrderStatusRow {
+
+    private final Long orderId;
+    private final OrderStatus orderStatus;
+
+    public OrderStatusRow(Long orderId, OrderStatus orderStatus) {
+        this.orderId = orderId;
+        this.orderStatus = orderStatus;
+    }
+}
@@ -0,0 +1,23 @@
+package sample.cafekiosk.spring.domain.product;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 모든 서버가 함께 보는 카탈로그 버전. 상품 변경과 같은 트랜잭션에서 올린다.
+ *
+ * 읽기/쓰기는 ProductCatalogVersion 의 JDBC 로만 한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CatalogVersion {
+
+    @Id
+    private String name;
+
+    private long version;
+}
@@ -10,10 +10,13 @@ import sample.cafekiosk.spring.domain.BaseEntity;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EntityListeners(ProductCatalogListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_product_product_number", columnNames = "product_number")) // 주문마다 상품번호로 조회한다. 유니크 인덱스가 같이 생긴다.
 public class Product extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq_generator")
+    @SequenceGenerator(name = "product_seq_generator", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     private String productNumber;
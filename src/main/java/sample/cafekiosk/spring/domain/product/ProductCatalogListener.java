@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.domain.product;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Product 변경을 카탈로그 버전에 알린다. (벌크 update 쿼리는 엔티티 리스너를 거치지 않으므로 직접 increase 해야 한다.)
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCatalogListener {
+
+    private final ProductCatalogVersion productCatalogVersion;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Product product) {
+        productCatalogVersion.increase();
+    }
+}
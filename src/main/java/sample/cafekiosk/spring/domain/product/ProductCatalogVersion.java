@@ -0,0 +1,86 @@
+package sample.cafekiosk.spring.domain.product;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 카탈로그 버전. 상품이 저장/수정/삭제될 때마다 올라간다.
+ * 캐시는 이 버전이 바뀌었는지만 보고 다시 만든다.
+ *
+ * 버전은 catalog_version 행에 있고 상품 변경과 같은 트랜잭션에서 올리므로, 모든 서버가 같은 버전(같은 ETag)을 본다.
+ * 요청마다 DB 를 읽지 않도록 메모리에 들고 있다가 refresh-ms 마다 primary 에서 다시 읽는다.
+ * 이 서버에서 바꾼 변경은 커밋 직후 바로 반영되고, 다른 서버의 변경은 최대 refresh-ms 늦게 반영된다.
+ * 버전이 바뀌었는지만 보므로 max 를 취하지 않고 저장된 값을 그대로 따른다. (동시에 커밋된 순서가 뒤바뀌어도 다음 refresh 에서 맞춰진다.)
+ */
+@Component
+public class ProductCatalogVersion {
+
+    private static final String NAME = "product";
+
+    private final AtomicLong version = new AtomicLong();
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductCatalogVersion(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    public String eTagOf(long version) {
+        return "catalog-" + version;
+    }
+
+    /**
+     * 트랜잭션 안이라면 그 트랜잭션에서 catalog_version 을 올리고, 커밋된 뒤에 이 서버의 버전에 반영한다.
+     * 커밋 전에 옛 데이터를 새 버전으로 캐시하는 요청이 생기지 않는다.
+     */
+    public void increase() {
+        long increased = increaseStored();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.set(increased);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version.set(increased);
+            }
+        });
+    }
+
+    /**
+     * 다른 서버가 올린 버전을 가져온다. 트랜잭션 밖에서 부르므로 replica 가 아니라 primary 에서 읽는다.
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.product.catalog-version-refresh-ms:1000}")
+    public void refresh() {
+        List<Long> stored = jdbcTemplate.queryForList("select version from catalog_version where name = ?", Long.class, NAME);
+        if (!stored.isEmpty()) {
+            version.set(stored.get(0));
+        }
+    }
+
+    private long increaseStored() {
+        if (jdbcTemplate.update("update catalog_version set version = version + 1 where name = ?", NAME) == 0) {
+            try {
+                // 테이블을 새로 만들었을 때(DB 초기화) 이전 버전/ETag 와 겹치지 않도록 임의의 값에서 시작한다.
+                jdbcTemplate.update("insert into catalog_version (name, version) values (?, ?)",
+                        NAME, ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE / 2));
+            } catch (DuplicateKeyException e) {
+                // 다른 트랜잭션이 먼저 만들었다.
+                jdbcTemplate.update("update catalog_version set version = version + 1 where name = ?", NAME);
+            }
+        }
+        return jdbcTemplate.queryForObject("select version from catalog_version where name = ?", Long.class, NAME);
+    }
+}
@@ -0,0 +1,39 @@
+package sample.cafekiosk.spring.domain.product;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 상품번호 발급용 시퀀스. 노드마다 blockSize 만큼 번호를 한번에 가져간다. (hi/lo)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductNumberSequence {
+
+    @Id
+    private String name;
+
+    private long nextValue; // 다음 블록의 시작 번호
+
+    private ProductNumberSequence(String name, long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+
+    public static ProductNumberSequence start(String name, long nextValue) {
+        return new ProductNumberSequence(name, nextValue);
+    }
+
+    /**
+     * [반환값, 반환값 + blockSize) 범위를 가져가고 다음 블록 시작 번호를 올린다.
+     */
+    public long allocate(int blockSize) {
+        long blockStart = nextValue;
+        nextValue += blockSize;
+        return blockStart;
+    }
+}
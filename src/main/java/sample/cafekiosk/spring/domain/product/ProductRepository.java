@@ -1,7 +1,11 @@
 package sample.cafekiosk.spring.domain.product;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,9 +17,24 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * select *
      * from product
      * where selling_status in ('SELLING', 'HOLD');
+     *
+     * 화면 표시용이라 읽기 전용으로 읽는다. (dirty checking 스냅샷을 만들지 않고, 조회 전에 flush 하지 않는다.)
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
     List<Product> findAllBySellingStatusIn(List<ProductSellingStatus> sellingStatuses );
 
+    /**
+     * keyset 페이지. id > :id 부터 id 순으로 limit 개.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<Product> findAllBySellingStatusInAndIdGreaterThanOrderByIdAsc(List<ProductSellingStatus> sellingStatuses, Long id, Limit limit);
+
     List<Product> findAllByProductNumberIn(List<String> productNumbers);
 
     @Query(value = "select p.product_number from product p order by id desc limit 1", nativeQuery = true)
@@ -3,7 +3,7 @@ package sample.cafekiosk.spring.domain.product;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
-import java.util.List;
+import java.util.EnumSet;
 
 @Getter
 @RequiredArgsConstructor
@@ -12,9 +12,11 @@ public enum ProductType {
     BOTTLE("병 음료"),
     BAKERY("베이커리");
 
+    private static final EnumSet<ProductType> STOCK_TYPES = EnumSet.of(BOTTLE, BAKERY); // 주문마다 부르므로 만들어 둔다.
+
     private final String text;
 
     public static boolean containsStockType(ProductType type) {
-        return List.of(BOTTLE, BAKERY).contains(type);
+        return type != null && STOCK_TYPES.contains(type);
     }
 }
@@ -0,0 +1,47 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 일자별 상품 판매 집계. 주문을 저장하거나 취소하는 트랜잭션에서 함께 고쳐 둔다. (DailySalesService)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_daily_sales_date_product", columnNames = {"sales_date", "product_number"}))
+public class DailySales {
+
+    // 행은 대부분 DailySalesRepository.add 의 merge 가 만든다. 시퀀스를 미리 받아 두면(pooled) 그 insert 와 id 가 겹치므로 identity 로 둔다.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private LocalDate salesDate;
+
+    private String productNumber;
+
+    private long quantity; // 판매 수량
+
+    private long revenue; // 판매 금액
+
+    private DailySales(LocalDate salesDate, String productNumber, long quantity, long revenue) {
+        this.salesDate = salesDate;
+        this.productNumber = productNumber;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+    public static DailySales create(LocalDate salesDate, String productNumber, long quantity, long revenue) {
+        return new DailySales(salesDate, productNumber, quantity, revenue);
+    }
+}
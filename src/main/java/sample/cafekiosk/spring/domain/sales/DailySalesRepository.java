@@ -0,0 +1,30 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface DailySalesRepository extends JpaRepository<DailySales, Long>, DailySalesRepositoryCustom {
+
+    List<DailySales> findAllBySalesDateOrderByProductNumber(LocalDate salesDate);
+
+    @Modifying
+    @Query("delete from DailySales d where d.salesDate = :salesDate")
+    int deleteAllBySalesDate(@Param("salesDate") LocalDate salesDate);
+
+    /**
+     * 취소/결제 실패(excludedStatuses)로 끝난 주문은 집계에서 빠지므로 여기서도 세지 않는다.
+     */
+    @Query("select new sample.cafekiosk.spring.domain.sales.DailySalesRow(p.productNumber, count(op), sum(p.price)) "
+            + "from OrderProduct op join op.order o join op.product p "
+            + "where o.id in :orderIds and o.orderStatus not in :excludedStatuses "
+            + "group by p.productNumber")
+    List<DailySalesRow> sumOrderProductsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds,
+                                                    @Param("excludedStatuses") Collection<OrderStatus> excludedStatuses);
+}
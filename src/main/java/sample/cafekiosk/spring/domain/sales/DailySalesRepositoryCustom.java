@@ -0,0 +1,12 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import java.time.LocalDate;
+
+public interface DailySalesRepositoryCustom {
+
+    /**
+     * merge into daily_sales ... (sales_date, product_number)
+     * 행이 있으면 더하고, 없으면 그 값으로 만든다. 호출한 트랜잭션 안에서 문장 하나로 처리한다. (음수면 뺀다.)
+     */
+    void add(LocalDate salesDate, String productNumber, long quantity, long revenue);
+}
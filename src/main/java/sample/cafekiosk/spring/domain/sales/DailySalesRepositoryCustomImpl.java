@@ -0,0 +1,35 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+@RequiredArgsConstructor
+public class DailySalesRepositoryCustomImpl implements DailySalesRepositoryCustom {
+
+    // PostgreSQL 이면 insert ... on conflict (sales_date, product_number) do update 로 바꾼다.
+    private static final String ADD_SQL =
+            "merge into daily_sales d "
+                    + "using (values (cast(? as date), cast(? as varchar(255)), cast(? as bigint), cast(? as bigint))) "
+                    + "s (sales_date, product_number, quantity, revenue) "
+                    + "on d.sales_date = s.sales_date and d.product_number = s.product_number "
+                    + "when matched then update set quantity = d.quantity + s.quantity, revenue = d.revenue + s.revenue "
+                    + "when not matched then insert (sales_date, product_number, quantity, revenue) "
+                    + "values (s.sales_date, s.product_number, s.quantity, s.revenue)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void add(LocalDate salesDate, String productNumber, long quantity, long revenue) {
+        Object[] args = {Date.valueOf(salesDate), productNumber, quantity, revenue};
+        try {
+            jdbcTemplate.update(ADD_SQL, args);
+        } catch (DataIntegrityViolationException e) {
+            // 그날 처음 팔린 상품을 다른 주문이 먼저 insert 했다. (uk_daily_sales_date_product) 이제는 행이 있으니 더하기만 한다.
+            jdbcTemplate.update(ADD_SQL, args);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import lombok.Getter;
+
+/**
+ * 주문상품을 상품번호별로 모은 결과. (집계 재계산용)
+ */
+@Getter
+public class DailySalesRow {
+
+    private final String productNumber;
+    private final long quantity;
+    private final long revenue;
+
+    public DailySalesRow(String productNumber, Long quantity, Long revenue) {
+        this.productNumber = productNumber;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+}
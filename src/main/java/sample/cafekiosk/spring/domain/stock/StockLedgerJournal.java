@@ -0,0 +1,30 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * ledger 모드에서 원장이 차감/반환한 수량. (delta 는 차감이면 음수)
+ * 주문 트랜잭션 안에서 함께 쓰이고, flush 가 stock.quantity 에 더한 뒤 지운다.
+ * 상품의 실제 재고 = stock.quantity + 아직 반영되지 않은 이 상품 delta 합.
+ *
+ * 쓰기/반영은 StockLedger 의 JDBC 로만 한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StockLedgerJournal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String productNumber;
+
+    private int delta;
+}
@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * ledger 모드로 재고 원장을 들고 있는 서버. 한 번에 한 서버만 가질 수 있다.
+ * 갱신이 끊기고 일정 시간이 지나면 다른 서버가 가져갈 수 있다.
+ *
+ * 쓰기는 StockLedger 의 JDBC 로만 한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StockLedgerLease {
+
+    @Id
+    private String name;
+
+    private String owner;
+
+    private LocalDateTime renewedAt;
+}
@@ -1,9 +1,24 @@
 package sample.cafekiosk.spring.domain.stock;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
-public interface StockRepository extends JpaRepository<Stock, Long> {
+public interface StockRepository extends JpaRepository<Stock, Long>, StockRepositoryCustom {
     List<Stock> findAllByProductNumberIn(List<String> productNumbers);
+
+    /**
+     * select ... for update
+     * 여러 요청이 같은 순서(productNumber 오름차순)로 락을 잡아야 서로 기다리다 교착되지 않는다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("select s from Stock s where s.productNumber in :productNumbers order by s.productNumber")
+    List<Stock> findAllForUpdateByProductNumberIn(@Param("productNumbers") List<String> productNumbers);
 }
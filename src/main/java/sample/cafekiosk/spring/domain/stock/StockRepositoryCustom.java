@@ -0,0 +1,19 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import java.util.List;
+import java.util.Map;
+
+public interface StockRepositoryCustom {
+
+    /**
+     * update stock set quantity = quantity - ? where product_number = ? and quantity >= ?
+     * 상품번호별 조건부 update 를 JDBC batch 한 번으로 보내고, 반영되지 않은(재고가 부족한) 상품번호를 반환한다.
+     */
+    List<String> deductAllIfEnough(Map<String, Integer> quantities);
+
+    /**
+     * update stock set quantity = quantity + ? where product_number = ?
+     * 예약했던 재고를 돌려준다. 상품번호 오름차순으로 갱신한다.
+     */
+    void restoreAll(Map<String, Integer> quantities);
+}
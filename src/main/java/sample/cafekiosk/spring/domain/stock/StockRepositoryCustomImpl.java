@@ -0,0 +1,58 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class StockRepositoryCustomImpl implements StockRepositoryCustom {
+
+    private static final String DEDUCT_IF_ENOUGH_SQL =
+            "update stock set quantity = quantity - ?, version = version + 1 where product_number = ? and quantity >= ?";
+
+    private static final String RESTORE_SQL =
+            "update stock set quantity = quantity + ?, version = version + 1 where product_number = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<String> deductAllIfEnough(Map<String, Integer> quantities) {
+        // 여러 요청이 같은 순서로 행을 갱신해야 서로 기다리다 교착되지 않는다.
+        List<String> productNumbers = quantities.keySet().stream()
+                .sorted()
+                .toList();
+
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (String productNumber : productNumbers) {
+            int quantity = quantities.get(productNumber);
+            batchArgs.add(new Object[]{quantity, productNumber, quantity});
+        }
+
+        int[] updatedCounts = jdbcTemplate.batchUpdate(DEDUCT_IF_ENOUGH_SQL, batchArgs);
+
+        List<String> shortProductNumbers = new ArrayList<>();
+        for (int i = 0; i < updatedCounts.length; i++) {
+            if (updatedCounts[i] == Statement.SUCCESS_NO_INFO) {
+                // 드라이버가 batch 결과 행 수를 알려주지 않으면 성공 여부를 판단할 수 없다. (e.g. MySQL rewriteBatchedStatements)
+                throw new IllegalStateException("JDBC 드라이버가 batch update 결과 행 수를 반환하지 않습니다.");
+            }
+            if (updatedCounts[i] == 0) {
+                shortProductNumbers.add(productNumbers.get(i));
+            }
+        }
+        return shortProductNumbers;
+    }
+
+    @Override
+    public void restoreAll(Map<String, Integer> quantities) {
+        List<Object[]> batchArgs = quantities.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList();
+        jdbcTemplate.batchUpdate(RESTORE_SQL, batchArgs);
+    }
+}
@@ -0,0 +1,78 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문이 잡아 둔 재고. 주문 생성 시 stock 에서 빼 두고(RESERVED), 결제가 끝나면 확정(CONFIRMED),
+ * 결제 실패, 취소, 만료(expiresAt)면 stock 으로 돌려준다(RELEASED). 주문 한 건의 상품번호마다 한 줄.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+        @Index(name = "idx_stock_reservation_order_id", columnList = "order_id"),
+        @Index(name = "idx_stock_reservation_status_order_id", columnList = "status, order_id") // 기동 시 남은 예약 조회
+})
+public class StockReservation extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_reservation_seq_generator")
+    @SequenceGenerator(name = "stock_reservation_seq_generator", sequenceName = "stock_reservation_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false)
+    private String productNumber;
+
+    private int quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StockReservationStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private StockReservation(Long orderId, String productNumber, int quantity, LocalDateTime expiresAt) {
+        this.orderId = orderId;
+        this.productNumber = productNumber;
+        this.quantity = quantity;
+        this.status = StockReservationStatus.RESERVED;
+        this.expiresAt = expiresAt;
+    }
+
+    public static StockReservation create(Long orderId, String productNumber, int quantity, LocalDateTime expiresAt) {
+        return new StockReservation(orderId, productNumber, quantity, expiresAt);
+    }
+
+    public void confirm() {
+        if (status != StockReservationStatus.RESERVED) {
+            throw new IllegalStateException("예약 상태인 재고만 확정할 수 있습니다.");
+        }
+        this.status = StockReservationStatus.CONFIRMED;
+    }
+
+    public void release() {
+        if (status == StockReservationStatus.RELEASED) {
+            throw new IllegalStateException("이미 반환된 재고입니다.");
+        }
+        this.status = StockReservationStatus.RELEASED;
+    }
+}
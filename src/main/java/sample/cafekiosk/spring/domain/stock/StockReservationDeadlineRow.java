@@ -0,0 +1,20 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문별로 아직 예약 중인 재고의 만료 시각. 기동 시 만료 타이머를 다시 거는 데 쓴다.
+ */
+@Getter
+public class StockReservationDeadlineRow {
+
+    private final Long orderId;
+    private final LocalDateTime expiresAt;
+
+    public StockReservationDeadlineRow(Long orderId, LocalDateTime expiresAt) {
+        this.orderId = orderId;
+        this.expiresAt = expiresAt;
+    }
+}
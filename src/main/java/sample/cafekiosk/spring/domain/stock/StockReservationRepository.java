@@ -0,0 +1,30 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    /**
+     * 확정, 반환, 만료가 같은 예약을 동시에 처리하지 않도록 행을 잠그고 읽는다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("select r from StockReservation r where r.orderId in :orderIds and r.status in :statuses order by r.id")
+    List<StockReservation> findAllForUpdateByOrderIdInAndStatusIn(@Param("orderIds") Collection<Long> orderIds,
+                                                                  @Param("statuses") Collection<StockReservationStatus> statuses);
+
+    List<StockReservation> findAllByOrderIdIn(Collection<Long> orderIds);
+
+    @Query("select new sample.cafekiosk.spring.domain.stock.StockReservationDeadlineRow(r.orderId, min(r.expiresAt)) "
+            + "from StockReservation r where r.status = :status group by r.orderId")
+    List<StockReservationDeadlineRow> findDeadlineRowsByStatus(@Param("status") StockReservationStatus status);
+}
@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum StockReservationStatus {
+
+    RESERVED("예약"),
+    CONFIRMED("확정"),
+    RELEASED("반환");
+
+    private final String text;
+}
@@ -0,0 +1,41 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 주문이 몰리는 상품의 재고를 여러 행으로 나눈 것. (sharded 모드)
+ * 상품의 전체 재고 = stock.quantity + 이 상품 샤드들의 quantity 합. 나눌 때 stock 쪽은 0 이 된다.
+ *
+ * 차감/반환은 StockShardRepositoryCustom 의 JDBC 조건부 update 로만 한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@IdClass(StockShard.Key.class)
+public class StockShard {
+
+    @Id
+    private String productNumber;
+
+    @Id
+    private int shardNo;
+
+    private int quantity;
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    public static class Key implements Serializable {
+
+        private String productNumber;
+        private int shardNo;
+    }
+}
@@ -0,0 +1,6 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StockShardRepository extends JpaRepository<StockShard, StockShard.Key>, StockShardRepositoryCustom {
+}
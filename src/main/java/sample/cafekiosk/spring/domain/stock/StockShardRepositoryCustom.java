@@ -0,0 +1,31 @@
+package sample.cafekiosk.spring.domain.stock;
+
+public interface StockShardRepositoryCustom {
+
+    /**
+     * update stock_shard set quantity = quantity - ? where product_number = ? and shard_no = ? and quantity >= ?
+     * 샤드 한 행만 건드린다. 부족하면 false
+     */
+    boolean deductIfEnough(String productNumber, int shardNo, int quantity);
+
+    void addQuantity(String productNumber, int shardNo, int quantity);
+
+    /**
+     * 상품의 stock 행과 샤드 행을 모두 잠그고, 전체 재고에서 quantity 를 뺀 나머지를 shardCount 개 샤드로 다시 나눈다.
+     * 한 샤드만으로는 모자랄 때(샤드가 비었거나, 처음 나누거나, 샤드 수를 바꿨을 때) 쓴다.
+     *
+     * @return 전체 재고가 모자라면 아무것도 바꾸지 않고 false
+     */
+    boolean deductAndResplit(String productNumber, int shardCount, int quantity);
+
+    /**
+     * 상품의 stock 행 -> 샤드 행 순서로 잠근다. (deductAndResplit 과 같은 순서)
+     * 여러 상품을 잠글 때는 상품번호 순으로 부른다.
+     */
+    void lockForUpdate(String productNumber);
+
+    /**
+     * stock.quantity + 샤드 합
+     */
+    int sumQuantity(String productNumber);
+}
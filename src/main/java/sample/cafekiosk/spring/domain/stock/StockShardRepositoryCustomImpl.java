@@ -0,0 +1,76 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class StockShardRepositoryCustomImpl implements StockShardRepositoryCustom {
+
+    private static final String DEDUCT_IF_ENOUGH_SQL =
+            "update stock_shard set quantity = quantity - ? where product_number = ? and shard_no = ? and quantity >= ?";
+    private static final String ADD_SQL =
+            "update stock_shard set quantity = quantity + ? where product_number = ? and shard_no = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean deductIfEnough(String productNumber, int shardNo, int quantity) {
+        return jdbcTemplate.update(DEDUCT_IF_ENOUGH_SQL, quantity, productNumber, shardNo, quantity) == 1;
+    }
+
+    @Override
+    public void addQuantity(String productNumber, int shardNo, int quantity) {
+        if (jdbcTemplate.update(ADD_SQL, quantity, productNumber, shardNo) == 0) {
+            // 샤드가 아직 없거나 다시 나누는 중에 지워졌다. stock 행에 더하면 다음에 나눌 때 샤드로 옮겨진다.
+            jdbcTemplate.update("update stock set quantity = quantity + ?, version = version + 1 where product_number = ?",
+                    quantity, productNumber);
+        }
+    }
+
+    @Override
+    public boolean deductAndResplit(String productNumber, int shardCount, int quantity) {
+        // stock 행 -> 샤드 행 순서로 잠근다. 한 샤드만 쓰는 차감은 stock 행을 잠그지 않는다.
+        List<Integer> stockQuantities = jdbcTemplate.queryForList(
+                "select quantity from stock where product_number = ? for update", Integer.class, productNumber);
+        if (stockQuantities.isEmpty()) {
+            return false;
+        }
+        List<Integer> shardQuantities = jdbcTemplate.queryForList(
+                "select quantity from stock_shard where product_number = ? order by shard_no for update", Integer.class, productNumber);
+
+        int total = stockQuantities.get(0) + shardQuantities.stream().mapToInt(Integer::intValue).sum();
+        if (total < quantity) {
+            return false;
+        }
+
+        int remaining = total - quantity;
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (int shardNo = 0; shardNo < shardCount; shardNo++) {
+            int share = remaining / shardCount + (shardNo < remaining % shardCount ? 1 : 0);
+            batchArgs.add(new Object[]{productNumber, shardNo, share});
+        }
+        jdbcTemplate.update("delete from stock_shard where product_number = ?", productNumber);
+        jdbcTemplate.batchUpdate("insert into stock_shard (product_number, shard_no, quantity) values (?, ?, ?)", batchArgs);
+        jdbcTemplate.update("update stock set quantity = 0, version = version + 1 where product_number = ?", productNumber);
+        return true;
+    }
+
+    @Override
+    public void lockForUpdate(String productNumber) {
+        jdbcTemplate.queryForList("select quantity from stock where product_number = ? for update", Integer.class, productNumber);
+        jdbcTemplate.queryForList(
+                "select quantity from stock_shard where product_number = ? order by shard_no for update", Integer.class, productNumber);
+    }
+
+    @Override
+    public int sumQuantity(String productNumber) {
+        Integer quantity = jdbcTemplate.queryForObject(
+                "select coalesce((select quantity from stock where product_number = ?), 0) "
+                        + "+ coalesce((select sum(quantity) from stock_shard where product_number = ?), 0)",
+                Integer.class, productNumber, productNumber);
+        return quantity == null ? 0 : quantity;
+    }
+}
@@ -1,6 +1,5 @@
 package sample.cafekiosk.unit;
 
-import lombok.Getter;
 import sample.cafekiosk.unit.beverage.Beverage;
 import sample.cafekiosk.unit.order.Order;
 
@@ -8,39 +7,81 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
-@Getter
+/**
+ * 장바구니는 음료별 잔 수로 들고, 총 금액은 담고 뺄 때마다 같이 고친다.
+ * 같은 음료를 100잔 담아도 항목은 하나라서 add / remove / calculateTotalPrice 가 잔 수와 상관없이 O(1) 이다.
+ */
 public class CafeKiosk {
 
     private static final LocalTime SHOP_OPEN_TIME = LocalTime.of(10, 0);
     private static final LocalTime SHOP_CLOSE_TIME = LocalTime.of(22, 0);
 
-    private final List<Beverage> beverages = new ArrayList<>();
+    private final Map<Beverage, Integer> quantities = new LinkedHashMap<>(); // 담은 순서 유지
+    private int beverageCount;
+    private int totalPrice;
 
     public void add(Beverage beverage) {
-        beverages.add(beverage);
+        add(beverage, 1);
     }
 
     public void add(Beverage beverage, int count) {
         if (count <= 0) throw new IllegalArgumentException("음료는 1잔 이상 주문하실 수 있습니다.");
-        for (int i = 0; i < count; i++) {
-            beverages.add(beverage);
-        }
+        quantities.merge(beverage, count, Integer::sum);
+        beverageCount += count;
+        totalPrice += beverage.getPrice() * count;
     }
 
+    /**
+     * 한 잔만 뺀다. 담지 않은 음료면 아무것도 하지 않는다.
+     */
     public void remove(Beverage beverage) {
-        beverages.remove(beverage);
+        Integer quantity = quantities.get(beverage);
+        if (quantity == null) {
+            return;
+        }
+        if (quantity == 1) {
+            quantities.remove(beverage);
+        } else {
+            quantities.put(beverage, quantity - 1);
+        }
+        beverageCount--;
+        totalPrice -= beverage.getPrice();
     }
 
     public void clear() {
-        beverages.clear();
+        quantities.clear();
+        beverageCount = 0;
+        totalPrice = 0;
     }
 
     public int calculateTotalPrice() {
-        return beverages.stream()
-                .mapToInt(Beverage::getPrice)
-                .sum();
+        return totalPrice;
+    }
+
+    public int getBeverageCount() {
+        return beverageCount;
+    }
+
+    public Map<Beverage, Integer> getQuantities() {
+        return Collections.unmodifiableMap(quantities);
+    }
+
+    /**
+     * 한 잔에 한 항목씩 펼친 목록. 같은 음료는 처음 담은 자리에 모여 있다.
+     */
+    public List<Beverage> getBeverages() {
+        List<Beverage> beverages = new ArrayList<>(beverageCount);
+        quantities.forEach((beverage, quantity) -> {
+            for (int i = 0; i < quantity; i++) {
+                beverages.add(beverage);
+            }
+        });
+        return Collections.unmodifiableList(beverages);
     }
 
     public Order createOrder() {
@@ -49,7 +90,7 @@ public class CafeKiosk {
         if (currentTime.isBefore(SHOP_OPEN_TIME) || currentTime.isAfter(SHOP_CLOSE_TIME)) {
             throw new IllegalArgumentException("주문 시간이 아닙니다. 관리자에게 문의하세요.");
         }
-        return new Order(LocalDateTime.now(), beverages);
+        return new Order(LocalDateTime.now(), getBeverages());
     }
 
     // 테스트하기 어려운 영역을 외부로 분리 (밖에서 받아오기). 테스트 하고자 하는 영역이 LocalDateTime과 관련이 없기 때문.
@@ -59,7 +100,7 @@ public class CafeKiosk {
         if (currentTime.isBefore(SHOP_OPEN_TIME) || currentTime.isAfter(SHOP_CLOSE_TIME)) {
             throw new IllegalArgumentException("주문 시간이 아닙니다. 관리자에게 문의하세요.");
         }
-        return new Order(LocalDateTime.now(), beverages);
+        return new Order(LocalDateTime.now(), getBeverages());
     }
 
 
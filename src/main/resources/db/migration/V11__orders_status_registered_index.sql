@@ -0,0 +1,2 @@
+-- 바리스타 화면의 열린 주문 조회 (order_status in (...) and registered_date_time >= ? order by registered_date_time)
+create index idx_orders_status_registered on orders (order_status, registered_date_time);
@@ -0,0 +1,6 @@
+-- 상품번호 블록 할당 (ProductNumberGenerator). 행은 처음 블록을 받을 때 기존 최대 상품번호 다음부터 만든다.
+create table product_number_sequence (
+    name       varchar(255) not null,
+    next_value bigint not null,
+    primary key (name)
+);
@@ -0,0 +1,10 @@
+-- 일자별 상품 판매 집계. 이 마이그레이션 이전 날짜는 DailySalesRebuildService.rebuild 로 채운다.
+create table daily_sales (
+    id             bigint generated by default as identity,
+    sales_date     date,
+    product_number varchar(255),
+    quantity       bigint not null,
+    revenue        bigint not null,
+    primary key (id),
+    constraint uk_daily_sales_date_product unique (sales_date, product_number)
+);
@@ -0,0 +1,42 @@
+-- 기존 스키마 (Flyway 를 들이기 전 ddl-auto 가 만들던 것과 같다). 이후 바뀐 것은 V2 부터 하나씩 적용한다.
+create table orders (
+    id                   bigint generated by default as identity,
+    created_date_time    timestamp(6),
+    modified_date_time   timestamp(6),
+    order_status         enum ('INIT','CANCELED','PAYMENT_COMPLETED','PAYMENT_FAILED','RECEIVED','COMPLETED'),
+    registered_date_time timestamp(6),
+    total_price          integer not null,
+    primary key (id)
+);
+
+create table product (
+    id                 bigint generated by default as identity,
+    created_date_time  timestamp(6),
+    modified_date_time timestamp(6),
+    name               varchar(255),
+    price              integer not null,
+    product_number     varchar(255),
+    selling_status     enum ('SELLING','HOLD','STOP_SELLING'),
+    type               enum ('HANDMADE','BOTTLE','BAKERY'),
+    primary key (id)
+);
+
+create table order_product (
+    id                 bigint generated by default as identity,
+    created_date_time  timestamp(6),
+    modified_date_time timestamp(6),
+    order_id           bigint,
+    product_id         bigint,
+    primary key (id),
+    constraint fk_order_product_order foreign key (order_id) references orders (id),
+    constraint fk_order_product_product foreign key (product_id) references product (id)
+);
+
+create table stock (
+    id                 bigint generated by default as identity,
+    created_date_time  timestamp(6),
+    modified_date_time timestamp(6),
+    product_number     varchar(255),
+    quantity           integer not null,
+    primary key (id)
+);
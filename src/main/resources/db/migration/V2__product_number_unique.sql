@@ -0,0 +1,4 @@
+-- 주문마다 product / stock 을 product_number in (...) 으로 찾는다. 유니크 인덱스로 찾게 한다.
+-- 중복된 product_number 가 남아 있으면 실패하니, 먼저 정리하고 적용한다.
+alter table product add constraint uk_product_product_number unique (product_number);
+alter table stock add constraint uk_stock_product_number unique (product_number);
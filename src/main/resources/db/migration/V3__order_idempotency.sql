@@ -0,0 +1,13 @@
+-- 주문 생성 Idempotency-Key. 같은 키의 재시도는 저장해 둔 응답을 돌려준다.
+create sequence order_idempotency_seq start with 1 increment by 50;
+
+create table order_idempotency (
+    id                 bigint not null,
+    created_date_time  timestamp(6),
+    modified_date_time timestamp(6),
+    idempotency_key    varchar(100) not null,
+    order_id           bigint,
+    response           clob,
+    primary key (id),
+    constraint uk_order_idempotency_key unique (idempotency_key)
+);
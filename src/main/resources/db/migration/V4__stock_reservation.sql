@@ -0,0 +1,17 @@
+-- 결제 전까지 주문이 잡아 둔 재고. 결제 실패, 취소, 만료 시 stock 으로 돌려준다.
+create sequence stock_reservation_seq start with 1 increment by 50;
+
+create table stock_reservation (
+    id                 bigint not null,
+    created_date_time  timestamp(6),
+    modified_date_time timestamp(6),
+    order_id           bigint not null,
+    product_number     varchar(255) not null,
+    quantity           integer not null,
+    status             enum ('RESERVED','CONFIRMED','RELEASED') not null,
+    expires_at         timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_stock_reservation_order_id on stock_reservation (order_id);
+create index idx_stock_reservation_status_order_id on stock_reservation (status, order_id);
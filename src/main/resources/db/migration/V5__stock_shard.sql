@@ -0,0 +1,7 @@
+-- sharded 모드에서 인기 상품의 재고를 나눠 담는 행. 상품의 전체 재고 = stock.quantity + 샤드 합
+create table stock_shard (
+    product_number varchar(255) not null,
+    shard_no       integer not null,
+    quantity       integer not null,
+    primary key (product_number, shard_no)
+);
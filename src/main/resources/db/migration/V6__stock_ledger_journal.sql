@@ -0,0 +1,15 @@
+-- ledger 모드에서 주문 트랜잭션과 함께 남기는 재고 증감. 상품의 실제 재고 = stock.quantity + 남은 delta 합
+create table stock_ledger_journal (
+    id             bigint generated by default as identity,
+    product_number varchar(255),
+    delta          integer not null,
+    primary key (id)
+);
+
+-- ledger 모드로 원장을 들고 있는 서버 (한 대만)
+create table stock_ledger_lease (
+    name       varchar(255) not null,
+    owner      varchar(255),
+    renewed_at timestamp(6),
+    primary key (name)
+);
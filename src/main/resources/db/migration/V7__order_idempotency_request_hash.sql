@@ -0,0 +1,2 @@
+-- 같은 Idempotency-Key 로 다른 주문을 보냈는지 가려내는 요청 본문 해시. 이전에 저장된 키는 null 로 두고 검사하지 않는다.
+alter table order_idempotency add column request_hash varchar(64);
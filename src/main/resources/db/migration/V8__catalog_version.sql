@@ -0,0 +1,6 @@
+-- 서버들이 함께 보는 상품 카탈로그 버전. 판매 상품 캐시와 ETag 의 기준이다. (행은 첫 상품 변경 때 만든다.)
+create table catalog_version (
+    name    varchar(255) not null,
+    version bigint not null,
+    primary key (name)
+);
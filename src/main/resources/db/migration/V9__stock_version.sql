@@ -0,0 +1,4 @@
+-- optimistic 모드의 @Version. 기존 행은 0 부터 센다.
+alter table stock add column version bigint;
+update stock set version = 0;
+alter table stock alter column version set not null;
@@ -0,0 +1,133 @@
+package sample.cafekiosk.spring.api.controller.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.OrderStatusService;
+import sample.cafekiosk.spring.api.service.order.export.OrderExportService;
+import sample.cafekiosk.spring.api.service.order.idempotency.OrderIdempotencyService;
+import sample.cafekiosk.spring.api.service.order.intake.OrderIntakeService;
+import sample.cafekiosk.spring.api.service.stock.StockConflictRetry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static sample.cafekiosk.spring.api.service.order.export.OrderExportFormat.CSV;
+
+@WebMvcTest(controllers = OrderController.class)
+class OrderControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private OrderService orderService;
+
+    @MockBean
+    private OrderIntakeService orderIntakeService;
+
+    @MockBean
+    private OrderStatusService orderStatusService;
+
+    @MockBean
+    private OrderExportService orderExportService;
+
+    @MockBean
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @MockBean
+    private StockConflictRetry stockConflictRetry;
+
+    @Test
+    @DisplayName("비동기 접수 모드에서 Idempotency-Key 를 보내면 접수하지 않고 400 으로 응답한다.")
+    void createOrderWithIdempotencyKeyInIntakeMode() throws Exception {
+        // given
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+        when(orderIntakeService.isEnabled()).thenReturn(true);
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/orders/news")
+                                .header("Idempotency-Key", "key-1")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.status").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.message").value("비동기 접수 모드에서는 Idempotency-Key 를 쓸 수 없습니다."))
+                .andExpect(jsonPath("$.data").isEmpty());
+        verify(orderIntakeService, never()).submit(any(), any());
+        verify(orderIdempotencyService, never()).createOrder(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("주문을 내보낸다.")
+    void exportOrders() throws Exception {
+        // given
+        LocalDateTime from = LocalDateTime.of(2026, 10, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 11, 1, 0, 0);
+
+        // when
+        MvcResult result = mockMvc.perform(
+                        get("/api/v1/orders/export")
+                                .param("from", "2026-10-01T00:00:00")
+                                .param("to", "2026-11-01T00:00:00")
+                                .param("format", "CSV")
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders.csv\""));
+        verify(orderExportService).export(eq(from), eq(to), eq(CSV), any());
+    }
+
+    @Test
+    @DisplayName("주문을 내보낼 때 시작 시각이 종료 시각보다 빠르지 않으면 스트림을 열기 전에 400 으로 응답한다.")
+    void exportOrdersWithInvalidPeriod() throws Exception {
+        // when // then
+        mockMvc.perform(
+                        get("/api/v1/orders/export")
+                                .param("from", "2026-11-01T00:00:00")
+                                .param("to", "2026-10-01T00:00:00")
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.status").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.message").value("시작 시각은 종료 시각보다 빨라야 합니다."))
+                .andExpect(jsonPath("$.data").isEmpty());
+        verify(orderExportService, never()).export(any(), any(), any(), any());
+    }
+}
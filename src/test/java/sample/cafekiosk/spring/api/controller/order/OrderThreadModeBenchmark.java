@@ -0,0 +1,167 @@
+package sample.cafekiosk.spring.api.controller.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+/**
+ * 플랫폼 스레드(Tomcat 기본 200개)와 가상 스레드로 주문 API 를 처리할 때의 처리량과 지연시간. ./gradlew benchmark 로만 실행된다.
+ *
+ * 동시 클라이언트가 각자 주문을 REQUESTS_PER_CLIENT 번씩 보낸다.
+ * 재고 경합이 섞이지 않도록 재고가 없는 HANDMADE 상품만 주문한다.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+abstract class OrderThreadModeBenchmark {
+
+    private static final int[] CLIENT_COUNTS = {200, 1_000, 5_000};
+    private static final int REQUESTS_PER_CLIENT = 3;
+    private static final int PRODUCT_COUNT = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void throughputAndLatencyByClients() throws InterruptedException {
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= PRODUCT_COUNT; i++) {
+            products.add(Product.builder()
+                    .productNumber(String.format("%03d", i))
+                    .type(HANDMADE)
+                    .sellingStatus(SELLING)
+                    .name("메뉴 " + i)
+                    .price(1000)
+                    .build());
+        }
+        productRepository.saveAll(products);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        URI uri = URI.create("http://localhost:" + port + "/api/v1/orders/news");
+
+        run(httpClient, uri, 200); // 워밍업
+        System.out.printf("%-20s %8s %12s %10s %10s %10s %8s%n", "mode", "clients", "orders/sec", "p50(ms)", "p99(ms)", "max(ms)", "failed");
+        for (int clientCount : CLIENT_COUNTS) {
+            Result result = run(httpClient, uri, clientCount);
+            System.out.printf("%-20s %8d %12.0f %10.1f %10.1f %10.1f %8d%n",
+                    getClass().getSimpleName(), clientCount, result.ordersPerSecond(),
+                    result.percentileMillis(0.5), result.percentileMillis(0.99), result.percentileMillis(1.0), result.failed());
+        }
+    }
+
+    private Result run(HttpClient httpClient, URI uri, int clientCount) throws InterruptedException {
+        int requestCount = clientCount * REQUESTS_PER_CLIENT;
+        AtomicLongArray latencies = new AtomicLongArray(requestCount);
+        AtomicInteger failed = new AtomicInteger();
+
+        long startedAt = System.nanoTime();
+        // 클라이언트 쪽은 두 모드 모두 가상 스레드로 띄워서, 서버 쪽 스레드 모델만 달라지게 한다.
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clientCount; client++) {
+                int firstSlot = client * REQUESTS_PER_CLIENT;
+                clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long sentAt = System.nanoTime();
+                        if (!order(httpClient, uri)) {
+                            failed.incrementAndGet();
+                        }
+                        latencies.set(firstSlot + i, System.nanoTime() - sentAt);
+                    }
+                });
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        long[] sorted = new long[requestCount];
+        for (int i = 0; i < requestCount; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        return new Result(sorted, failed.get(), requestCount / (elapsedNanos / 1_000_000_000.0));
+    }
+
+    private boolean order(HttpClient httpClient, URI uri) {
+        String body = String.format("{\"productNumbers\":[\"%03d\",\"%03d\"]}",
+                ThreadLocalRandom.current().nextInt(PRODUCT_COUNT) + 1,
+                ThreadLocalRandom.current().nextInt(PRODUCT_COUNT) + 1);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Result(long[] sortedLatencies, int failed, double ordersPerSecond) {
+
+        double percentileMillis(double percentile) {
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+    @SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+            "spring.jpa.show-sql=false",
+            "spring.threads.virtual.enabled=false"
+    })
+    static class WithPlatformThreads extends OrderThreadModeBenchmark {
+    }
+
+    @SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+            "spring.jpa.show-sql=false",
+            "spring.threads.virtual.enabled=true"
+    })
+    static class WithVirtualThreads extends OrderThreadModeBenchmark {
+    }
+}
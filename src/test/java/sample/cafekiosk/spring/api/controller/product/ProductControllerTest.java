@@ -8,19 +8,30 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import sample.cafekiosk.spring.api.ApiResponse;
 import sample.cafekiosk.spring.api.service.product.ProductService;
 import sample.cafekiosk.spring.api.service.product.dto.request.ProductCreateRequest;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingProductsBody;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
@@ -166,7 +177,8 @@ class ProductControllerTest {
     void getSellingProducts() throws Exception {
         // given
         List<ProductResponse> result = List.of();
-        when(productService.getSellingProducts()).thenReturn(result);
+        when(productService.getSellingProductsBody()).thenReturn(SellingProductsBody.encode(objectMapper, result, true));
+        when(productService.getSellingProductsETag()).thenReturn("catalog-1");
 
         //when //then 
         mockMvc.perform(
@@ -178,10 +190,58 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.status").value("OK"))
                 .andExpect(jsonPath("$.message").value("OK"))
                 .andExpect(jsonPath("$.data").isArray())
+                .andExpect(header().string("ETag", "\"catalog-1\""))
         ;
     }
 
+    @Test
+    @DisplayName("이미 최신 판매 상품 목록을 갖고 있으면 본문 없이 304를 응답한다.")
+    void getSellingProductsNotModified() throws Exception {
+        // given
+        when(productService.getSellingProductsETag()).thenReturn("catalog-1");
 
+        //when //then
+        mockMvc.perform(
+                        get("/api/v1/products/selling")
+                                .header("If-None-Match", "\"catalog-1\"")
+                )
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
 
+        verify(productService, never()).getSellingProductsBody();
+    }
+
+    @Test
+    @DisplayName("gzip 을 받을 수 있으면 미리 압축해 둔 판매 상품 목록을 응답한다.")
+    void getSellingProductsGzip() throws Exception {
+        // given
+        List<ProductResponse> result = List.of(ProductResponse.builder()
+                .id(1L)
+                .productNumber("001")
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("아메리카노")
+                .price(4000)
+                .build());
+        when(productService.getSellingProductsBody()).thenReturn(SellingProductsBody.encode(objectMapper, result, true));
+        when(productService.getSellingProductsETag()).thenReturn("catalog-1");
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(
+                        get("/api/v1/products/selling")
+                                .header("Accept-Encoding", "gzip, deflate")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
 
+        // then
+        byte[] compressed = mvcResult.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            String json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(json).isEqualTo(objectMapper.writeValueAsString(ApiResponse.ok(result)));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderCreateRequest;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+/**
+ * 주문 한 건을 저장할 때 준비되는 SQL 문 수와 지연시간. ./gradlew benchmark 로만 실행된다.
+ *
+ * WithoutBatching 은 batch_size=0 으로 IDENTITY 시절처럼 insert 를 한 건씩 보낸다.
+ * batch 가 켜지면 같은 insert 문을 한 번 준비해서 addBatch 로 묶어 보내므로 준비 횟수가 줄어든다.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+abstract class OrderInsertBenchmark {
+
+    private static final int[] ITEM_COUNTS = {1, 10, 50};
+    private static final int WARMUP_ORDERS = 50;
+    private static final int MEASURED_ORDERS = 200;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void statementsAndLatencyPerOrder() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            products.add(Product.builder()
+                    .productNumber(String.format("%03d", i))
+                    .type(HANDMADE)
+                    .sellingStatus(SELLING)
+                    .name("메뉴 " + i)
+                    .price(1000)
+                    .build());
+        }
+        productRepository.saveAll(products);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int itemCount : ITEM_COUNTS) {
+            OrderCreateRequest request = OrderCreateRequest.builder()
+                    .productNumbers(products.subList(0, itemCount).stream().map(Product::getProductNumber).toList())
+                    .build();
+
+            for (int i = 0; i < WARMUP_ORDERS; i++) {
+                orderService.createOrder(request, LocalDateTime.now());
+            }
+
+            statistics.clear();
+            long startedAt = System.nanoTime();
+            for (int i = 0; i < MEASURED_ORDERS; i++) {
+                orderService.createOrder(request, LocalDateTime.now());
+            }
+            long elapsedNanos = System.nanoTime() - startedAt;
+
+            System.out.printf("%-18s items=%-3d statements/order=%6.2f inserts/order=%6.2f latency=%8.1fus%n",
+                    getClass().getSimpleName(), itemCount,
+                    (double) statistics.getPrepareStatementCount() / MEASURED_ORDERS,
+                    (double) statistics.getEntityInsertCount() / MEASURED_ORDERS,
+                    elapsedNanos / 1_000.0 / MEASURED_ORDERS);
+        }
+    }
+
+    @SpringBootTest(properties = {
+            "spring.jpa.show-sql=false",
+            "spring.jpa.properties.hibernate.generate_statistics=true",
+            "spring.jpa.properties.hibernate.jdbc.batch_size=0"
+    })
+    static class WithoutBatching extends OrderInsertBenchmark {
+    }
+
+    @SpringBootTest(properties = {
+            "spring.jpa.show-sql=false",
+            "spring.jpa.properties.hibernate.generate_statistics=true"
+    })
+    static class WithBatching extends OrderInsertBenchmark {
+    }
+}
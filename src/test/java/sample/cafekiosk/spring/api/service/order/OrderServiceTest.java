@@ -1,5 +1,6 @@
 package sample.cafekiosk.spring.api.service.order;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
@@ -7,8 +8,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.CursorPage;
 import sample.cafekiosk.spring.api.controller.order.request.order.OrderCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderLineRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.stock.InsufficientStockException;
+import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
 import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
 import sample.cafekiosk.spring.domain.product.Product;
@@ -16,8 +22,10 @@ import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductType;
 import sample.cafekiosk.spring.domain.stock.Stock;
 import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.domain.stock.StockReservationRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -42,6 +50,10 @@ class OrderServiceTest {
     private OrderProductRepository orderProductRepository;
     @Autowired
     private StockRepository stockRepository;
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     @AfterEach
     void tearDown() {
@@ -49,6 +61,7 @@ class OrderServiceTest {
         productRepository.deleteAllInBatch();
         orderRepository.deleteAllInBatch();
         stockRepository.deleteAllInBatch();
+        stockReservationRepository.deleteAllInBatch();
     }
 
     @Test
@@ -159,6 +172,108 @@ class OrderServiceTest {
                 );
     }
 
+    @Test
+    @DisplayName("상품번호와 수량으로 주문을 생성하고, 상품번호 리스트와 섞어 보내면 수량을 합친다.")
+    void createOrderWithOrderLines() {
+        // given
+        Product product1 = createProduct(BOTTLE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        Stock stock = Stock.create("001", 5);
+        stockRepository.save(stock);
+
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .productNumbers(List.of("001"))
+                .orderLines(List.of(
+                        OrderLineRequest.builder().productNumber("002").quantity(3).build(),
+                        OrderLineRequest.builder().productNumber("001").quantity(2).build()
+                ))
+                .build();
+
+        // when
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        OrderResponse orderResponse = orderService.createOrder(request, registeredDateTime);
+
+        // then
+        assertThat(orderResponse.getTotalPrice()).isEqualTo(12000);
+        assertThat(orderResponse.getProducts()).hasSize(6)
+                .extracting("productNumber")
+                .containsExactly("001", "001", "001", "002", "002", "002");
+
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 2));
+    }
+
+    @Test
+    @DisplayName("주문 수량이 1개보다 적으면 예외가 발생한다.")
+    void createOrderWithZeroQuantity() {
+        // given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .orderLines(List.of(OrderLineRequest.builder().productNumber("001").quantity(0).build()))
+                .build();
+
+        // when // then
+        assertThatThrownBy(() -> orderService.createOrder(request, LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("주문 수량은 1개 이상이어야 합니다.");
+    }
+
+    @Test
+    @DisplayName("한 상품의 주문 수량이 상한을 넘으면 예외가 발생하고 주문을 만들지 않는다.")
+    void createOrderWithTooLargeLineQuantity() {
+        // given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .orderLines(List.of(OrderLineRequest.builder().productNumber("001").quantity(2_000_000_000).build()))
+                .build();
+
+        // when // then
+        assertThatThrownBy(() -> orderService.createOrder(request, LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("한 상품의 주문 수량은 " + ProductQuantities.MAX_LINE_QUANTITY + "개를 넘을 수 없습니다.");
+        assertThat(orderRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("주문 전체 수량이 상한을 넘으면 예외가 발생한다.")
+    void createOrderWithTooLargeTotalQuantity() {
+        // given
+        productRepository.saveAll(List.of(createProduct(HANDMADE, "001", 1000), createProduct(HANDMADE, "002", 3000)));
+
+        List<OrderLineRequest> orderLines = new ArrayList<>();
+        for (int i = 0; i <= ProductQuantities.MAX_TOTAL_QUANTITY / ProductQuantities.MAX_LINE_QUANTITY; i++) {
+            orderLines.add(OrderLineRequest.builder().productNumber(i % 2 == 0 ? "001" : "002").quantity(ProductQuantities.MAX_LINE_QUANTITY).build());
+        }
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .orderLines(orderLines)
+                .build();
+
+        // when // then
+        assertThatThrownBy(() -> orderService.createOrder(request, LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("한 주문의 전체 수량은 " + ProductQuantities.MAX_TOTAL_QUANTITY + "개를 넘을 수 없습니다.");
+    }
+
+    @Test
+    @DisplayName("주문할 상품이 없으면 예외가 발생하고 주문을 만들지 않는다.")
+    void createOrderWithoutProducts() {
+        // given
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .productNumbers(List.of())
+                .build();
+
+        // when // then
+        assertThatThrownBy(() -> orderService.createOrder(request, LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("주문할 상품이 없습니다.");
+        assertThat(orderRepository.findAll()).isEmpty();
+    }
+
     @Test
     @DisplayName("재고가 없는 상품으로 주문을 생성하려는 경우 예외가 발생한다.")
     void createOrderWithNoStock() {
@@ -185,6 +300,186 @@ class OrderServiceTest {
                 .hasMessage("재고가 부족한 상품이 있습니다.");
     }
 
+    @Test
+    @DisplayName("재고가 부족한 경우 부족한 상품번호를 알려주고, 어떤 재고도 차감하지 않는다.")
+    void createOrderWithNoStockReportsProductNumbers() {
+        // given
+        Product product1 = createProduct(BOTTLE, "001", 1000);
+        Product product2 = createProduct(BAKERY, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        Stock stock1 = Stock.create("001", 2);
+        Stock stock2 = Stock.create("002", 0);
+        stockRepository.saveAll(List.of(stock1, stock2));
+
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .productNumbers(List.of("001", "002"))
+                .build();
+
+        // when // then
+        double rejectedBefore = meterRegistry.counter("cafekiosk.order.stock.rejected", "productNumber", "002").count();
+
+        assertThatThrownBy(() -> orderService.createOrder(request, LocalDateTime.now()))
+                .isInstanceOf(InsufficientStockException.class)
+                .extracting("productNumbers")
+                .isEqualTo(List.of("002"));
+        assertThat(meterRegistry.counter("cafekiosk.order.stock.rejected", "productNumber", "002").count())
+                .isEqualTo(rejectedBefore + 1);
+
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 2),
+                        tuple("002", 0)
+                );
+    }
+
+
+    @Test
+    @DisplayName("주문 여러 건을 한 번에 생성하고, 주문별로 성공 여부를 알려준다.")
+    void createOrders() {
+        // given
+        Product product1 = createProduct(BOTTLE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        Stock stock = Stock.create("001", 2);
+        stockRepository.save(stock);
+
+        List<OrderCreateRequest> requests = List.of(
+                OrderCreateRequest.builder().productNumbers(List.of("001", "001")).build(),
+                OrderCreateRequest.builder().productNumbers(List.of("001", "002")).build(),
+                OrderCreateRequest.builder().productNumbers(List.of("002")).build(),
+                OrderCreateRequest.builder().productNumbers(List.of("999")).build()
+        );
+
+        // when
+        OrderBatchResponse response = orderService.createOrders(requests, LocalDateTime.now());
+
+        // then
+        assertThat(response.getSuccessCount()).isEqualTo(2);
+        assertThat(response.getFailureCount()).isEqualTo(2);
+        assertThat(response.getResults())
+                .extracting("index", "success", "message", "productNumbers")
+                .containsExactly(
+                        tuple(0, true, null, List.of()),
+                        tuple(1, false, "재고가 부족한 상품이 있습니다.", List.of("001")),
+                        tuple(2, true, null, List.of()),
+                        tuple(3, false, "존재하지 않는 상품이 있습니다.", List.of("999"))
+                );
+        assertThat(response.getResults().get(0).getOrder().getTotalPrice()).isEqualTo(2000);
+        assertThat(response.getResults().get(2).getOrder().getTotalPrice()).isEqualTo(3000);
+
+        assertThat(orderRepository.findAll()).hasSize(2);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 0));
+    }
+
+    @Test
+    @DisplayName("일괄 주문에서 상품이 없거나 수량이 상한을 넘는 주문은 그 주문만 실패한다.")
+    void createOrdersWithInvalidQuantities() {
+        // given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+
+        List<OrderCreateRequest> requests = List.of(
+                OrderCreateRequest.builder().build(),
+                OrderCreateRequest.builder()
+                        .orderLines(List.of(OrderLineRequest.builder().productNumber("001").quantity(ProductQuantities.MAX_LINE_QUANTITY + 1).build()))
+                        .build(),
+                OrderCreateRequest.builder().productNumbers(List.of("001")).build()
+        );
+
+        // when
+        OrderBatchResponse response = orderService.createOrders(requests, LocalDateTime.now());
+
+        // then
+        assertThat(response.getResults())
+                .extracting("index", "success", "message")
+                .containsExactly(
+                        tuple(0, false, "주문할 상품이 없습니다."),
+                        tuple(1, false, "한 상품의 주문 수량은 " + ProductQuantities.MAX_LINE_QUANTITY + "개를 넘을 수 없습니다."),
+                        tuple(2, true, null)
+                );
+        assertThat(orderRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("주문을 id 순으로 나눠서 상품과 함께 조회한다.")
+    void getOrders() {
+        // given
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        Long orderId1 = orderService.createOrder(OrderCreateRequest.builder().productNumbers(List.of("001")).build(), registeredDateTime).getId();
+        Long orderId2 = orderService.createOrder(OrderCreateRequest.builder().productNumbers(List.of("001", "002")).build(), registeredDateTime).getId();
+        Long orderId3 = orderService.createOrder(OrderCreateRequest.builder().productNumbers(List.of("002")).build(), registeredDateTime).getId();
+
+        // when
+        CursorPage<OrderResponse> page1 = orderService.getOrders(null, 2);
+        CursorPage<OrderResponse> page2 = orderService.getOrders(page1.getNextCursor(), 2);
+
+        // then
+        assertThat(page1.getContent())
+                .extracting("id", "totalPrice")
+                .containsExactly(
+                        tuple(orderId1, 1000),
+                        tuple(orderId2, 4000)
+                );
+        assertThat(page1.getContent().get(1).getProducts()).hasSize(2);
+        assertThat(page2.getContent())
+                .extracting("id")
+                .containsExactly(orderId3);
+        assertThat(page2.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("주문상품이 없는 주문이 있어도 주문 목록을 조회할 수 있다.")
+    void getOrdersWithOrderWithoutProducts() {
+        // given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        Long emptyOrderId = orderRepository.save(Order.create(List.of(), registeredDateTime)).getId(); // 빈 주문을 거절하기 전에 저장된 주문
+        Long orderId = orderService.createOrder(OrderCreateRequest.builder().productNumbers(List.of("001")).build(), registeredDateTime).getId();
+
+        // when
+        CursorPage<OrderResponse> page = orderService.getOrders(null, 20);
+
+        // then
+        assertThat(page.getContent())
+                .extracting("id", "totalPrice")
+                .containsExactly(
+                        tuple(emptyOrderId, 0),
+                        tuple(orderId, 1000)
+                );
+        assertThat(page.getContent().get(0).getProducts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("주문상품이 없는 주문도 단건 조회할 수 있고, 상품 목록은 비어 있다.")
+    void getOrderWithoutProducts() {
+        // given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        Long orderId = orderRepository.save(Order.create(List.of(), registeredDateTime)).getId(); // 빈 주문을 거절하기 전에 저장된 주문
+
+        // when
+        OrderResponse response = orderService.getOrder(orderId);
+
+        // then
+        assertThat(response.getId()).isEqualTo(orderId);
+        assertThat(response.getTotalPrice()).isZero();
+        assertThat(response.getProducts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 주문을 단건 조회하면 예외가 발생한다.")
+    void getOrderWithUnknownId() {
+        // when // then
+        assertThatThrownBy(() -> orderService.getOrder(-1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("존재하지 않는 주문입니다.");
+    }
 
     private Product createProduct(ProductType type, String productNumber, int price) {
         return Product.builder()
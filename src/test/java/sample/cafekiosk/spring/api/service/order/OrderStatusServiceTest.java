@@ -0,0 +1,236 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderStatusChangeRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
+import sample.cafekiosk.spring.api.service.sales.DailySalesService;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatusRow;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderStatusServiceTest {
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private DailySalesService dailySalesService;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @SpyBean
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        dailySalesRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("여러 주문의 상태를 한 번에 바꾸고, 허용되지 않는 전이는 현재 상태와 함께 실패로 돌려준다.")
+    void changeOrderStatus() {
+        // given
+        Product product = productRepository.save(createProduct("001"));
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        Order order1 = orderRepository.save(Order.create(List.of(product), registeredDateTime));
+        Order order2 = orderRepository.save(Order.create(List.of(product), registeredDateTime));
+        Order order3 = orderRepository.save(Order.create(List.of(product), registeredDateTime));
+
+        // when
+        OrderStatusChangeResponse response = orderStatusService.changeOrderStatus(List.of(
+                createRequest(order1.getId(), PAYMENT_COMPLETED),
+                createRequest(order2.getId(), CANCELED),
+                createRequest(order3.getId(), COMPLETED),
+                createRequest(-1L, RECEIVED)
+        ), registeredDateTime.plusMinutes(1));
+
+        // then
+        assertThat(response.getChangedOrderIds()).containsExactlyInAnyOrder(order1.getId(), order2.getId());
+        assertThat(response.getFailures())
+                .extracting("orderId", "orderStatus", "message")
+                .containsExactlyInAnyOrder(
+                        tuple(order3.getId(), INIT, "주문생성 상태에서 처리완료 상태로 바꿀 수 없습니다."),
+                        tuple(-1L, null, "존재하지 않는 주문입니다.")
+                );
+        assertThat(orderRepository.findAll())
+                .extracting("id", "orderStatus")
+                .containsExactlyInAnyOrder(
+                        tuple(order1.getId(), PAYMENT_COMPLETED),
+                        tuple(order2.getId(), CANCELED),
+                        tuple(order3.getId(), INIT)
+                );
+    }
+
+    @Test
+    @DisplayName("정해진 순서대로라면 주문을 끝까지 진행할 수 있다.")
+    void changeOrderStatusInSequence() {
+        // given
+        Product product = productRepository.save(createProduct("001"));
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        Order order = orderRepository.save(Order.create(List.of(product), registeredDateTime));
+
+        // when
+        for (OrderStatus target : List.of(PAYMENT_COMPLETED, RECEIVED, COMPLETED)) {
+            orderStatusService.changeOrderStatus(List.of(createRequest(order.getId(), target)), LocalDateTime.now());
+        }
+
+        // then
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getOrderStatus()).isEqualTo(COMPLETED);
+    }
+
+    @Test
+    @DisplayName("처음 조회한 뒤 다른 요청이 먼저 같은 상태로 바꾼 주문은 바뀐 주문으로 세지 않고, 재고 반환과 집계 차감도 다시 하지 않는다.")
+    void changeOrderStatusAlreadyChangedByOtherRequest() {
+        // given
+        Product product = productRepository.save(createProduct("001"));
+        LocalDateTime registeredDateTime = LocalDateTime.of(2026, 10, 18, 9, 0);
+        Order order = orderRepository.save(Order.create(List.of(product), registeredDateTime));
+        dailySalesService.record(List.of(orderRepository.findAllWithProductsByIdIn(List.of(order.getId())).get(0)));
+        orderStatusService.changeOrderStatus(List.of(createRequest(order.getId(), CANCELED)), registeredDateTime); // 다른 요청
+
+        // 이 요청의 첫 조회는 다른 요청이 취소하기 전의 상태를 읽었다. 그 뒤로는 DB 의 상태를 읽는다.
+        doReturn(List.of(new OrderStatusRow(order.getId(), INIT)))
+                .doAnswer(invocation -> orderRepository.findAllById(invocation.<Collection<Long>>getArgument(0)).stream()
+                        .map(found -> new OrderStatusRow(found.getId(), found.getOrderStatus()))
+                        .toList())
+                .when(orderRepository).findStatusRowsByIdIn(any());
+
+        // when
+        OrderStatusChangeResponse response = orderStatusService.changeOrderStatus(
+                List.of(createRequest(order.getId(), CANCELED)), registeredDateTime.plusMinutes(1));
+
+        // then
+        assertThat(response.getChangedOrderIds()).isEmpty();
+        assertThat(response.getAlreadyChangedOrderIds()).containsExactly(order.getId());
+        assertThat(response.getFailures()).isEmpty();
+        assertThat(dailySalesService.getDailySales(registeredDateTime.toLocalDate()))
+                .extracting("productNumber", "quantity", "revenue")
+                .containsExactly(tuple("001", 0L, 0L)); // 한 번만 빠졌다.
+    }
+
+    @Test
+    @DisplayName("끝나지 않은 주문을 들어온 순서대로 상품과 함께 조회한다.")
+    void getOpenOrders() {
+        // given
+        Product product1 = createProduct("001");
+        Product product2 = createProduct("002");
+        productRepository.saveAll(List.of(product1, product2));
+        LocalDateTime today = LocalDateTime.of(2026, 10, 18, 9, 0);
+        Order yesterday = orderRepository.save(Order.create(List.of(product1), today.minusDays(1)));
+        Order second = orderRepository.save(Order.create(List.of(product1, product2), today.plusMinutes(2)));
+        Order first = orderRepository.save(Order.create(List.of(product2), today.plusMinutes(1)));
+        Order completed = orderRepository.save(Order.create(List.of(product1), today.plusMinutes(3)));
+        for (OrderStatus target : List.of(PAYMENT_COMPLETED, RECEIVED, COMPLETED)) {
+            orderStatusService.changeOrderStatus(List.of(createRequest(completed.getId(), target)), today);
+        }
+
+        // when
+        List<OrderResponse> openOrders = orderStatusService.getOpenOrders(OrderStatus.OPEN, today, 10);
+
+        // then
+        assertThat(openOrders)
+                .extracting("id", "orderStatus")
+                .containsExactly(
+                        tuple(first.getId(), INIT),
+                        tuple(second.getId(), INIT)
+                );
+        assertThat(openOrders.get(1).getProducts())
+                .extracting("productNumber")
+                .containsExactlyInAnyOrder("001", "002");
+        assertThat(yesterday.getId()).isNotIn(openOrders.stream().map(OrderResponse::getId).toList());
+    }
+
+    @Test
+    @DisplayName("주문상품이 없는 주문이 섞여 있어도 끝나지 않은 주문을 조회할 수 있다.")
+    void getOpenOrdersWithOrderWithoutProducts() {
+        // given
+        Product product = createProduct("001");
+        productRepository.save(product);
+        LocalDateTime today = LocalDateTime.of(2026, 10, 18, 9, 0);
+        Order empty = orderRepository.save(Order.create(List.of(), today.plusMinutes(1)));
+        Order order = orderRepository.save(Order.create(List.of(product), today.plusMinutes(2)));
+
+        // when
+        List<OrderResponse> openOrders = orderStatusService.getOpenOrders(OrderStatus.OPEN, today, 10);
+
+        // then
+        assertThat(openOrders)
+                .extracting("id", "totalPrice")
+                .containsExactly(
+                        tuple(empty.getId(), 0),
+                        tuple(order.getId(), 1000)
+                );
+        assertThat(openOrders.get(0).getProducts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("조회 개수는 1 이상, 최대 개수 이하로 맞춘다.")
+    void getOpenOrdersLimitsSize() {
+        // given
+        Product product = createProduct("001");
+        productRepository.save(product);
+        LocalDateTime today = LocalDateTime.of(2026, 10, 18, 9, 0);
+        Order first = orderRepository.save(Order.create(List.of(product), today.plusMinutes(1)));
+        orderRepository.save(Order.create(List.of(product), today.plusMinutes(2)));
+
+        // when
+        List<OrderResponse> negativeSize = orderStatusService.getOpenOrders(OrderStatus.OPEN, today, -1);
+        List<OrderResponse> hugeSize = orderStatusService.getOpenOrders(OrderStatus.OPEN, today, Integer.MAX_VALUE);
+
+        // then
+        assertThat(negativeSize)
+                .extracting("id")
+                .containsExactly(first.getId());
+        assertThat(hugeSize).hasSize(2);
+    }
+
+    private OrderStatusChangeRequest createRequest(Long orderId, OrderStatus orderStatus) {
+        return OrderStatusChangeRequest.builder()
+                .orderId(orderId)
+                .orderStatus(orderStatus)
+                .build();
+    }
+
+    private Product createProduct(String productNumber) {
+        return Product.builder()
+                .type(HANDMADE)
+                .productNumber(productNumber)
+                .price(1000)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+}
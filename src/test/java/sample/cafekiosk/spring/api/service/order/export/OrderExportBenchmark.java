@@ -0,0 +1,166 @@
+package sample.cafekiosk.spring.api.service.order.export;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+/**
+ * 내보내는 주문 수에 따른 힙 사용량. ./gradlew benchmark 로만 실행된다.
+ *
+ * 내보내기 직전(GC 후) 힙을 기준으로, 내보내는 동안 가장 많이 늘어난 양을 잰다.
+ * 주문이 늘어도 이 값이 비슷해야 한다. (H2 메모리 DB 자체가 쓰는 힙은 기준에 이미 들어 있다.)
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class OrderExportBenchmark {
+
+    private static final int[] ORDER_COUNTS = {1_000, 100_000, 500_000};
+    private static final int LINES_PER_ORDER = 2;
+    private static final long ID_OFFSET = 1_000_000_000L; // 시퀀스로 받는 id 와 겹치지 않게
+
+    @Autowired
+    private OrderExportService orderExportService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void heapByOrderCount() throws InterruptedException {
+        Product product = productRepository.save(Product.builder()
+                .productNumber("001")
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("아메리카노")
+                .price(4000)
+                .build());
+        LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+        System.out.printf("%-8s %10s %12s %12s %12s%n", "format", "orders", "bytes", "heap(MB)", "elapsed(ms)");
+        int inserted = 0;
+        for (int orderCount : ORDER_COUNTS) {
+            insertOrders(product.getId(), from, inserted, orderCount);
+            inserted = orderCount;
+
+            for (OrderExportFormat format : OrderExportFormat.values()) {
+                CountingOutputStream out = new CountingOutputStream();
+                HeapSampler sampler = HeapSampler.start();
+                long startedAt = System.nanoTime();
+                orderExportService.export(from, from.plusYears(1), format, out);
+                long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+                long peakBytes = sampler.stop();
+
+                System.out.printf("%-8s %10d %12d %12.1f %12d%n",
+                        format, orderCount, out.count, peakBytes / 1024.0 / 1024.0, elapsedMillis);
+            }
+        }
+    }
+
+    /**
+     * [from, to) 번째 주문을 JDBC batch 로 넣는다.
+     */
+    private void insertOrders(Long productId, LocalDateTime registeredDateTime, int from, int to) {
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> orderProducts = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            long orderId = ID_OFFSET + i;
+            orders.add(new Object[]{orderId, "INIT", 4000 * LINES_PER_ORDER, Timestamp.valueOf(registeredDateTime.plusSeconds(i))});
+            for (int line = 0; line < LINES_PER_ORDER; line++) {
+                orderProducts.add(new Object[]{orderId * LINES_PER_ORDER + line, orderId, productId});
+            }
+            if (orders.size() == 10_000) {
+                flush(orders, orderProducts);
+            }
+        }
+        flush(orders, orderProducts);
+    }
+
+    private void flush(List<Object[]> orders, List<Object[]> orderProducts) {
+        jdbcTemplate.batchUpdate("insert into orders (id, order_status, total_price, registered_date_time) values (?, ?, ?, ?)", orders);
+        jdbcTemplate.batchUpdate("insert into order_product (id, order_id, product_id) values (?, ?, ?)", orderProducts);
+        orders.clear();
+        orderProducts.clear();
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    private static class HeapSampler {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private final AtomicLong peak = new AtomicLong();
+        private long baseline;
+        private Thread thread;
+
+        static HeapSampler start() {
+            HeapSampler sampler = new HeapSampler();
+            System.gc();
+            sampler.baseline = sampler.memory.getHeapMemoryUsage().getUsed();
+            sampler.thread = new Thread(() -> {
+                while (sampler.running.get()) {
+                    sampler.peak.accumulateAndGet(sampler.memory.getHeapMemoryUsage().getUsed(), Math::max);
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            sampler.thread.start();
+            return sampler;
+        }
+
+        long stop() throws InterruptedException {
+            running.set(false);
+            thread.join();
+            return Math.max(0, peak.get() - baseline);
+        }
+    }
+}
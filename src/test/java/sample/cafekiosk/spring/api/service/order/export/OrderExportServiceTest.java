@@ -0,0 +1,146 @@
+package sample.cafekiosk.spring.api.service.order.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderExportServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 10, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 11, 1, 0, 0);
+
+    @Autowired
+    private OrderExportService orderExportService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("기간 내 주문을 주문상품과 함께 한 줄에 한 건씩 NDJSON 으로 내보낸다.")
+    void exportNdjson() throws Exception {
+        // given
+        Product product1 = createProduct("001", "아메리카노", 4000);
+        Product product2 = createProduct("002", "카페라떼", 4500);
+        productRepository.saveAll(List.of(product1, product2));
+        Order order1 = orderRepository.save(Order.create(List.of(product1, product2), FROM.plusDays(1)));
+        Order order2 = orderRepository.save(Order.create(List.of(product2), FROM.plusDays(2)));
+        orderRepository.save(Order.create(List.of(product1), TO)); // 기간 밖
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.export(FROM, TO, OrderExportFormat.NDJSON, out);
+
+        // then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(order1.getId());
+        assertThat(first.get("totalPrice").asInt()).isEqualTo(8500);
+        assertThat(first.get("products")).hasSize(2);
+        assertThat(objectMapper.readTree(lines[1]).get("id").asLong()).isEqualTo(order2.getId());
+    }
+
+    @Test
+    @DisplayName("CSV 는 주문상품 한 건이 한 줄이고, 쉼표나 따옴표가 들어간 값은 따옴표로 감싼다.")
+    void exportCsv() {
+        // given
+        Product product1 = createProduct("001", "아메리카노", 4000);
+        Product product2 = createProduct("002", "크림 \"라떼\", 큰 컵", 5000);
+        productRepository.saveAll(List.of(product1, product2));
+        Order order = orderRepository.save(Order.create(List.of(product1, product2), FROM.plusHours(1)));
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.export(FROM, TO, OrderExportFormat.CSV, out);
+
+        // then
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "order_id,order_status,total_price,registered_date_time,product_number,product_name,price",
+                order.getId() + ",INIT,9000,2026-10-01T01:00,001,아메리카노,4000",
+                order.getId() + ",INIT,9000,2026-10-01T01:00,002,\"크림 \"\"라떼\"\", 큰 컵\",5000"
+        );
+    }
+
+    @Test
+    @DisplayName("주문상품이 없는 주문도 빠지지 않고, NDJSON 은 상품 목록을 비우고 CSV 는 상품 칸을 비워 내보낸다.")
+    void exportOrderWithoutProducts() throws Exception {
+        // given
+        Product product = createProduct("001", "아메리카노", 4000);
+        productRepository.save(product);
+        Order emptyOrder = orderRepository.save(Order.create(List.of(), FROM.plusHours(1))); // 빈 주문을 거절하기 전에 저장된 주문
+        Order order = orderRepository.save(Order.create(List.of(product), FROM.plusHours(2)));
+
+        // when
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        orderExportService.export(FROM, TO, OrderExportFormat.NDJSON, ndjson);
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        orderExportService.export(FROM, TO, OrderExportFormat.CSV, csv);
+
+        // then
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(emptyOrder.getId());
+        assertThat(first.get("products")).isEmpty();
+        assertThat(objectMapper.readTree(lines[1]).get("products")).hasSize(1);
+
+        assertThat(csv.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "order_id,order_status,total_price,registered_date_time,product_number,product_name,price",
+                emptyOrder.getId() + ",INIT,0,2026-10-01T01:00,,,",
+                order.getId() + ",INIT,4000,2026-10-01T02:00,001,아메리카노,4000"
+        );
+    }
+
+    @Test
+    @DisplayName("시작 시각이 종료 시각보다 늦으면 내보낼 수 없다.")
+    void exportWithInvalidRange() {
+        assertThatThrownBy(() -> orderExportService.export(TO, FROM, OrderExportFormat.CSV, new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("시작 시각은 종료 시각보다 빨라야 합니다.");
+    }
+
+    private Product createProduct(String productNumber, String name, int price) {
+        return Product.builder()
+                .type(HANDMADE)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name(name)
+                .build();
+    }
+}
@@ -0,0 +1,208 @@
+package sample.cafekiosk.spring.api.service.order.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.stock.StockConflictRetry;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderIdempotencyServiceTest {
+
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private StockConflictRetry stockConflictRetry;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private OrderIdempotencyRepository orderIdempotencyRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderIdempotencyRepository.deleteAllInBatch();
+        orderProductRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("같은 키로 다시 요청하면 처음 만든 주문을 돌려주고, 재고는 한 번만 차감한다.")
+    void createOrderWithSameKey() {
+        // given
+        productRepository.save(createProduct(BOTTLE, "001", 1000));
+        stockRepository.save(Stock.create("001", 5));
+        OrderCreateRequest request = createRequest("001", "001");
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        // when
+        OrderResponse first = orderIdempotencyService.createOrder("key-1", request, registeredDateTime);
+        OrderResponse retried = orderIdempotencyService.createOrder("key-1", request, registeredDateTime.plusSeconds(3));
+
+        // then
+        assertThat(retried.getId()).isEqualTo(first.getId());
+        assertThat(retried.getRegisteredDateTime()).isEqualTo(registeredDateTime);
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockRepository.findAll().get(0).getQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("같은 키가 동시에 들어오면 하나만 주문을 만들고, 나머지는 그 결과를 기다렸다가 돌려준다.")
+    void createOrderWithSameKeyConcurrently() throws Exception {
+        // given
+        productRepository.save(createProduct(BOTTLE, "001", 1000));
+        stockRepository.save(Stock.create("001", 100));
+        OrderCreateRequest request = createRequest("001");
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        int threadCount = 10;
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        List<Future<OrderResponse>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threadCount)) {
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return orderIdempotencyService.createOrder("key-2", request, registeredDateTime);
+                }));
+            }
+            start.countDown();
+        }
+
+        // then
+        List<Long> orderIds = new ArrayList<>();
+        for (Future<OrderResponse> future : futures) {
+            orderIds.add(future.get().getId());
+        }
+        assertThat(orderIds).hasSize(threadCount).containsOnly(orderIds.get(0));
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockRepository.findAll().get(0).getQuantity()).isEqualTo(99);
+    }
+
+    @Test
+    @DisplayName("메모리 캐시가 비어 있어도(재시작) 저장해 둔 응답을 돌려준다.")
+    void createOrderAfterRestart() {
+        // given
+        productRepository.save(createProduct(BOTTLE, "001", 1000));
+        stockRepository.save(Stock.create("001", 5));
+        OrderCreateRequest request = createRequest("001");
+        OrderResponse first = orderIdempotencyService.createOrder("key-3", request, LocalDateTime.now());
+
+        OrderIdempotencyService restarted = new OrderIdempotencyService(
+                orderService, orderIdempotencyRepository, transactionManager, stockConflictRetry, objectMapper, 100, 600, 1000, 24);
+
+        // when
+        OrderResponse retried = restarted.createOrder("key-3", request, LocalDateTime.now());
+
+        // then
+        assertThat(retried.getId()).isEqualTo(first.getId());
+        assertThat(retried.getTotalPrice()).isEqualTo(1000);
+        assertThat(retried.getProducts()).extracting("productNumber").containsExactly("001");
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockRepository.findAll().get(0).getQuantity()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("재고가 부족해 실패한 주문은 저장하지 않으므로, 같은 키로 다시 시도할 수 있다.")
+    void createOrderAgainAfterFailure() {
+        // given
+        productRepository.save(createProduct(BOTTLE, "001", 1000));
+        stockRepository.save(Stock.create("001", 1));
+        OrderCreateRequest request = createRequest("001", "001");
+        assertThatThrownBy(() -> orderIdempotencyService.createOrder("key-4", request, LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족한 상품이 있습니다.");
+
+        stockRepository.deleteAllInBatch();
+        stockRepository.save(Stock.create("001", 2));
+
+        // when
+        OrderResponse response = orderIdempotencyService.createOrder("key-4", request, LocalDateTime.now());
+
+        // then
+        assertThat(response.getTotalPrice()).isEqualTo(2000);
+        assertThat(orderIdempotencyRepository.findByIdempotencyKey("key-4")).isPresent();
+    }
+
+    @Test
+    @DisplayName("같은 키로 본문이 다른 주문이 오면 처음 주문을 돌려주지 않고 거절한다. 재시작 이후에도 마찬가지다.")
+    void createOrderWithSameKeyAndDifferentRequest() {
+        // given
+        productRepository.save(createProduct(BOTTLE, "001", 1000));
+        stockRepository.save(Stock.create("001", 5));
+        orderIdempotencyService.createOrder("key-5", createRequest("001"), LocalDateTime.now());
+        OrderCreateRequest otherRequest = createRequest("001", "001");
+
+        OrderIdempotencyService restarted = new OrderIdempotencyService(
+                orderService, orderIdempotencyRepository, transactionManager, stockConflictRetry, objectMapper, 100, 600, 1000, 24);
+
+        // when // then
+        assertThatThrownBy(() -> orderIdempotencyService.createOrder("key-5", otherRequest, LocalDateTime.now()))
+                .isInstanceOf(OrderIdempotencyKeyReusedException.class)
+                .hasMessage("이미 다른 주문에 쓴 Idempotency-Key 입니다. 새 주문에는 새 키를 보내주세요.");
+        assertThatThrownBy(() -> restarted.createOrder("key-5", otherRequest, LocalDateTime.now()))
+                .isInstanceOf(OrderIdempotencyKeyReusedException.class);
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockRepository.findAll().get(0).getQuantity()).isEqualTo(4);
+    }
+
+    private OrderCreateRequest createRequest(String... productNumbers) {
+        return OrderCreateRequest.builder()
+                .productNumbers(List.of(productNumbers))
+                .build();
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+}
@@ -0,0 +1,162 @@
+package sample.cafekiosk.spring.api.service.order.intake;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderIntakeResponse;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "cafekiosk.order.intake.enabled=true")
+class OrderIntakeServiceTest {
+
+    @Autowired
+    private OrderIntakeService orderIntakeService;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private StockRepository stockRepository;
+
+    @AfterEach
+    void tearDown() {
+        if (!orderIntakeService.isRunning()) {
+            orderIntakeService.start();
+        }
+        orderProductRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("접수한 주문은 바로 접수대기로 응답하고, writer 가 저장하면 주문 번호를 조회할 수 있다.")
+    void submit() throws InterruptedException {
+        // given
+        productRepository.saveAll(List.of(
+                createProduct(HANDMADE, "001", 1000),
+                createProduct(HANDMADE, "002", 3000)
+        ));
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        // when
+        OrderIntakeResponse response = orderIntakeService.submit(createRequest("001", "002"), registeredDateTime);
+
+        // then
+        assertThat(response.getTicketId()).isNotBlank();
+        OrderIntakeResponse result = awaitCompletion(response.getTicketId());
+        assertThat(result.getStatus()).isEqualTo(OrderIntakeStatus.ACCEPTED);
+        assertThat(result.getOrder().getId()).isNotNull();
+        assertThat(result.getOrder().getOrderStatus()).isEqualTo(OrderStatus.INIT);
+        assertThat(result.getOrder().getTotalPrice()).isEqualTo(4000);
+        assertThat(result.getOrder().getRegisteredDateTime()).isEqualTo(registeredDateTime);
+    }
+
+    @Test
+    @DisplayName("재고가 부족한 주문만 실패하고, 같은 묶음의 다른 주문은 저장된다.")
+    void submitWithNoStock() throws InterruptedException {
+        // given
+        productRepository.saveAll(List.of(
+                createProduct(BOTTLE, "001", 1000),
+                createProduct(HANDMADE, "002", 3000)
+        ));
+        stockRepository.save(Stock.create("001", 1));
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        // when
+        List<String> ticketIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ticketIds.add(orderIntakeService.submit(createRequest("001", "002"), registeredDateTime).getTicketId());
+        }
+
+        // then
+        List<OrderIntakeResponse> results = new ArrayList<>();
+        for (String ticketId : ticketIds) {
+            results.add(awaitCompletion(ticketId));
+        }
+        assertThat(results)
+                .extracting(OrderIntakeResponse::getStatus)
+                .containsOnlyOnce(OrderIntakeStatus.ACCEPTED);
+        assertThat(results)
+                .filteredOn(result -> result.getStatus() == OrderIntakeStatus.REJECTED)
+                .hasSize(2)
+                .allSatisfy(result -> assertThat(result.getProductNumbers()).containsExactly("001"));
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("종료하면 큐에 남은 주문을 모두 저장한 뒤 더 이상 접수하지 않는다.")
+    void stop() {
+        // given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        List<String> ticketIds = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ticketIds.add(orderIntakeService.submit(createRequest("001"), registeredDateTime).getTicketId());
+        }
+
+        // when
+        orderIntakeService.stop();
+
+        // then
+        assertThat(ticketIds)
+                .extracting(ticketId -> orderIntakeService.getTicket(ticketId).getStatus())
+                .containsOnly(OrderIntakeStatus.ACCEPTED);
+        assertThat(orderRepository.count()).isEqualTo(200);
+        assertThatThrownBy(() -> orderIntakeService.submit(createRequest("001"), registeredDateTime))
+                .isInstanceOf(OrderIntakeUnavailableException.class)
+                .hasMessage("주문 접수를 받지 않고 있습니다.");
+    }
+
+    private OrderIntakeResponse awaitCompletion(String ticketId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            OrderIntakeResponse response = orderIntakeService.getTicket(ticketId);
+            if (response.getStatus() != OrderIntakeStatus.QUEUED) {
+                return response;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("접수한 주문이 5초 안에 처리되지 않았습니다. " + ticketId);
+    }
+
+    private OrderCreateRequest createRequest(String... productNumbers) {
+        return OrderCreateRequest.builder()
+                .productNumbers(List.of(productNumbers))
+                .build();
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductNumberGeneratorTest {
+
+    @Autowired
+    private ProductNumberSequenceRepository sequenceRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        sequenceRepository.deleteAllInBatch();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        sequenceRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("상품이 하나도 없는 경우, 첫 상품번호는 001이다.")
+    void nextWhenProductIsEmpty() {
+        // given
+        ProductNumberGenerator generator = createGenerator(10);
+
+        // when
+        String productNumber = generator.next();
+
+        // then
+        assertThat(productNumber).isEqualTo("001");
+    }
+
+    @Test
+    @DisplayName("시퀀스가 처음 만들어질 때는 가장 최근 상품의 상품번호 다음 번호부터 발급한다.")
+    void nextWhenProductExists() {
+        // given
+        productRepository.save(Product.builder()
+                .productNumber("009")
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("아메리카노")
+                .price(4000)
+                .build());
+        ProductNumberGenerator generator = createGenerator(10);
+
+        // when
+        String productNumber = generator.next();
+
+        // then
+        assertThat(productNumber).isEqualTo("010");
+    }
+
+    @Test
+    @DisplayName("노드마다 번호를 블록 단위로 받아가므로 서로 겹치지 않는다.")
+    void nextWithSeveralNodes() {
+        // given
+        ProductNumberGenerator node1 = createGenerator(2);
+        ProductNumberGenerator node2 = createGenerator(2);
+
+        // when
+        String first = node1.next();
+        String second = node2.next();
+        String third = node1.next();
+        String fourth = node1.next();
+
+        // then
+        assertThat(first).isEqualTo("001");
+        assertThat(second).isEqualTo("003");
+        assertThat(third).isEqualTo("002");
+        assertThat(fourth).isEqualTo("005");
+        assertThat(sequenceRepository.findById(ProductNumberGenerator.SEQUENCE_NAME))
+                .hasValueSatisfying(sequence -> assertThat(sequence.getNextValue()).isEqualTo(7));
+    }
+
+    private ProductNumberGenerator createGenerator(int blockSize) {
+        return new ProductNumberGenerator(sequenceRepository, productRepository, transactionManager, blockSize);
+    }
+}
@@ -2,19 +2,30 @@ package sample.cafekiosk.spring.api.service.product;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.CursorPage;
 import sample.cafekiosk.spring.api.service.product.dto.request.ProductCreateRequest;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductCatalogVersion;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.tuple;
@@ -32,6 +43,25 @@ class ProductServiceTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductNumberSequenceRepository productNumberSequenceRepository;
+
+    @Autowired
+    private ProductNumberGenerator productNumberGenerator;
+
+    @Autowired
+    private ProductCatalogVersion productCatalogVersion;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // 시퀀스 행과 받아 둔 블록을 비워, 상품번호를 그때 남아 있는 상품 기준으로 다시 센다.
+        productNumberSequenceRepository.deleteAllInBatch();
+        productNumberGenerator.reset();
+    }
+
     @AfterEach
     void tearDown() {
         productRepository.deleteAllInBatch();
@@ -96,6 +126,171 @@ class ProductServiceTest {
                 );
     }
 
+    @Test
+    @DisplayName("신규 상품을 등록한다. 상품번호는 직전에 발급한 상품번호에서 1 증가한 값이다.")
+    void createProduct() {
+        // given
+        ProductCreateRequest request1 = ProductCreateRequest.builder()
+                .name("아메리카노")
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .price(4000)
+                .build();
+        ProductCreateRequest request2 = ProductCreateRequest.builder()
+                .name("카푸치노")
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .price(5000)
+                .build();
+
+        // when
+        ProductResponse response1 = productService.createProduct(request1);
+        ProductResponse response2 = productService.createProduct(request2);
+
+        // then
+        Assertions.assertThat(response2)
+                .extracting("name", "type", "sellingStatus", "price")
+                .contains("카푸치노", HANDMADE, SELLING, 5000);
+        Assertions.assertThat(response2.getProductNumber()).matches("\\d{3,}");
+        Assertions.assertThat(Integer.parseInt(response2.getProductNumber()))
+                .isEqualTo(Integer.parseInt(response1.getProductNumber()) + 1);
+
+        List<Product> products = productRepository.findAll();
+        Assertions.assertThat(products).hasSize(2)
+                .extracting("productNumber", "type", "sellingStatus", "name", "price")
+                .containsExactlyInAnyOrder(
+                        tuple(response1.getProductNumber(), HANDMADE, SELLING, "아메리카노", 4000),
+                        tuple(response2.getProductNumber(), HANDMADE, SELLING, "카푸치노", 5000)
+                );
+    }
+
+    @Test
+    @DisplayName("여러 요청이 동시에 상품을 등록해도 상품번호가 중복되지 않는다.")
+    void createProductConcurrently() throws InterruptedException {
+        // given
+        int requestCount = 200; // 블록(number-block-size 100)을 두 번 받는다. 노드 사이의 블록 할당은 ProductNumberGeneratorTest 에서 본다.
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+        Set<String> productNumbers = ConcurrentHashMap.newKeySet();
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    ProductResponse response = productService.createProduct(ProductCreateRequest.builder()
+                            .name("아메리카노")
+                            .type(HANDMADE)
+                            .sellingStatus(SELLING)
+                            .price(4000)
+                            .build());
+                    productNumbers.add(response.getProductNumber());
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(1, TimeUnit.MINUTES);
+        executorService.shutdown();
+
+        // then
+        Assertions.assertThat(productNumbers).hasSize(requestCount);
+        Assertions.assertThat(productRepository.findAll())
+                .extracting("productNumber")
+                .doesNotHaveDuplicates()
+                .hasSize(requestCount);
+    }
+
+    @Test
+    @DisplayName("판매 상품 목록은 캐시되지만, 상품이 등록되면 새 목록을 돌려준다.")
+    void getSellingProductsAfterCreateProduct() {
+        // given
+        Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+        productRepository.save(product1);
+        List<ProductResponse> before = productService.getSellingProducts();
+        String eTagBefore = productService.getSellingProductsETag();
+
+        ProductCreateRequest request = ProductCreateRequest.builder()
+                .name("카푸치노")
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .price(5000)
+                .build();
+
+        // when
+        productService.createProduct(request);
+        List<ProductResponse> after = productService.getSellingProducts();
+
+        // then
+        Assertions.assertThat(before).hasSize(1);
+        Assertions.assertThat(after).hasSize(2)
+                .extracting("name")
+                .containsExactlyInAnyOrder("아메리카노", "카푸치노");
+        Assertions.assertThat(productService.getSellingProductsETag()).isNotEqualTo(eTagBefore);
+        Assertions.assertThat(productService.getSellingProducts()).isSameAs(after);
+    }
+
+    @Test
+    @DisplayName("다른 서버가 상품을 바꾸고 카탈로그 버전을 올리면, 다음 refresh 부터 새 목록과 새 ETag 를 돌려준다.")
+    void getSellingProductsAfterOtherServerChange() {
+        // given
+        productRepository.saveAll(List.of(
+                createProduct("001", HANDMADE, SELLING, "아메리카노", 4000),
+                createProduct("002", HANDMADE, SELLING, "카페라떼", 4500)
+        ));
+        List<ProductResponse> before = productService.getSellingProducts();
+        String eTagBefore = productService.getSellingProductsETag();
+
+        // 다른 서버에서 상품 변경과 버전 증가가 한 트랜잭션으로 커밋되었다.
+        jdbcTemplate.update("update product set selling_status = 'STOP_SELLING' where product_number = '001'");
+        jdbcTemplate.update("update catalog_version set version = version + 1");
+
+        // when
+        productCatalogVersion.refresh(); // 스케줄로는 최대 refresh-ms 뒤에 불린다.
+        List<ProductResponse> afterRefresh = productService.getSellingProducts();
+
+        // then
+        Assertions.assertThat(before).hasSize(2);
+        Assertions.assertThat(afterRefresh)
+                .extracting("productNumber")
+                .containsExactly("002");
+        Assertions.assertThat(productService.getSellingProductsETag()).isNotEqualTo(eTagBefore);
+    }
+
+    @Test
+    @DisplayName("판매 상품을 id 순으로 나눠서 조회하고, 마지막 페이지에는 다음 커서가 없다.")
+    void getSellingProductsByCursor() {
+        // given
+        productRepository.saveAll(List.of(
+                createProduct("001", HANDMADE, SELLING, "아메리카노", 4000),
+                createProduct("002", HANDMADE, STOP_SELLING, "카페라떼", 4500),
+                createProduct("003", HANDMADE, HOLD, "팥빙수", 7000),
+                createProduct("004", HANDMADE, SELLING, "카푸치노", 5000),
+                createProduct("005", HANDMADE, SELLING, "에스프레소", 3000)
+        ));
+
+        // when
+        CursorPage<ProductResponse> page1 = productService.getSellingProducts(null, 2);
+        CursorPage<ProductResponse> page2 = productService.getSellingProducts(page1.getNextCursor(), 2);
+
+        // then
+        Assertions.assertThat(page1.getContent())
+                .extracting("productNumber")
+                .containsExactly("001", "003");
+        Assertions.assertThat(page1.getNextCursor()).isNotNull();
+        Assertions.assertThat(page2.getContent())
+                .extracting("productNumber")
+                .containsExactly("004", "005");
+        Assertions.assertThat(page2.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("잘못된 커서로는 조회할 수 없다.")
+    void getSellingProductsWithInvalidCursor() {
+        Assertions.assertThatThrownBy(() -> productService.getSellingProducts("not-a-cursor", 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("잘못된 커서입니다.");
+    }
+
     private Product createProduct(String productNumber, ProductType type, ProductSellingStatus sellingStatus, String name, int price) {
         return Product.builder()
                 .productNumber(productNumber)
@@ -0,0 +1,211 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderStatusChangeRequest;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.OrderStatusService;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.sales.response.DailySalesResponse;
+import sample.cafekiosk.spring.api.service.sales.response.DailySalesVerifyResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.CANCELED;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.PAYMENT_COMPLETED;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.PAYMENT_FAILED;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "cafekiosk.sales.rebuild-chunk-size=2")
+class DailySalesServiceTest {
+
+    private static final LocalDate SALES_DATE = LocalDate.of(2020, 1, 1);
+
+    @Autowired
+    private DailySalesService dailySalesService;
+    @Autowired
+    private DailySalesRebuildService dailySalesRebuildService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        dailySalesRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("주문을 저장하면 같은 트랜잭션에서 일자, 상품별 판매 집계가 늘어난다.")
+    void recordOnCreateOrder() {
+        // given
+        productRepository.saveAll(List.of(
+                createProduct("001", 1000),
+                createProduct("002", 3000)
+        ));
+        LocalDateTime registeredDateTime = SALES_DATE.atTime(10, 0);
+
+        // when
+        orderService.createOrder(createRequest("001", "001", "002"), registeredDateTime);
+        orderService.createOrders(List.of(createRequest("001"), createRequest("002")), registeredDateTime.plusHours(1));
+        orderService.createOrder(createRequest("002"), registeredDateTime.plusDays(1));
+
+        // then
+        List<DailySalesResponse> dailySales = dailySalesService.getDailySales(SALES_DATE);
+        assertThat(dailySales)
+                .extracting("productNumber", "quantity", "revenue")
+                .containsExactly(
+                        tuple("001", 3L, 3000L),
+                        tuple("002", 2L, 6000L)
+                );
+    }
+
+    @Test
+    @DisplayName("그날 처음 팔린 상품을 여러 주문이 동시에 집계해도, 주문 트랜잭션 안에서 한 행으로 모두 더해진다.")
+    void recordFirstSaleConcurrently() throws Exception {
+        // given
+        productRepository.save(createProduct("001", 1000));
+        LocalDateTime registeredDateTime = SALES_DATE.atTime(10, 0);
+        int threadCount = 8;
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        List<Future<OrderResponse>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threadCount)) {
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return orderService.createOrder(createRequest("001"), registeredDateTime);
+                }));
+            }
+            start.countDown();
+        }
+
+        // then
+        for (Future<OrderResponse> future : futures) {
+            future.get();
+        }
+        assertThat(dailySalesService.getDailySales(SALES_DATE))
+                .extracting("productNumber", "quantity", "revenue")
+                .containsExactly(tuple("001", (long) threadCount, threadCount * 1000L));
+    }
+
+    @Test
+    @DisplayName("취소되거나 결제에 실패한 주문은 판매 집계에서 빠지고, 다시 세어도 집계와 같다.")
+    void subtractOnCanceledOrPaymentFailed() {
+        // given
+        productRepository.saveAll(List.of(
+                createProduct("001", 1000),
+                createProduct("002", 3000)
+        ));
+        LocalDateTime registeredDateTime = SALES_DATE.atTime(10, 0);
+        OrderResponse paid = orderService.createOrder(createRequest("001", "002"), registeredDateTime);
+        OrderResponse failed = orderService.createOrder(createRequest("001"), registeredDateTime);
+        OrderResponse canceled = orderService.createOrder(createRequest("002", "002"), registeredDateTime);
+
+        // when
+        changeOrderStatus(paid.getId(), PAYMENT_COMPLETED);
+        changeOrderStatus(failed.getId(), PAYMENT_FAILED);
+        changeOrderStatus(canceled.getId(), CANCELED);
+        changeOrderStatus(failed.getId(), CANCELED); // 결제 실패한 주문은 취소로 넘어가지 않으니 두 번 빠지지 않는다.
+
+        // then
+        assertThat(dailySalesService.getDailySales(SALES_DATE))
+                .extracting("productNumber", "quantity", "revenue")
+                .containsExactly(
+                        tuple("001", 1L, 1000L),
+                        tuple("002", 1L, 3000L)
+                );
+        assertThat(dailySalesRebuildService.verify(SALES_DATE).getMismatches()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("주문 원본에서 다시 세어 집계와 다른 상품을 찾고, 다시 만들면 맞춰진다.")
+    void verifyAndRebuild() {
+        // given
+        Product product1 = createProduct("001", 1000);
+        Product product2 = createProduct("002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+        orderService.createOrder(createRequest("001", "002"), SALES_DATE.atTime(9, 0));
+        for (int i = 0; i < 5; i++) { // 집계를 거치지 않고 저장된 주문 (백필 대상)
+            orderRepository.save(Order.create(List.of(product1), SALES_DATE.atTime(10, i)));
+        }
+
+        // when
+        DailySalesVerifyResponse verified = dailySalesRebuildService.verify(SALES_DATE);
+        List<DailySalesVerifyResponse> rebuilt = dailySalesRebuildService.rebuild(SALES_DATE, SALES_DATE);
+
+        // then
+        assertThat(verified.getMismatches())
+                .extracting("productNumber", "expectedQuantity", "actualQuantity")
+                .containsExactly(tuple("001", 6L, 1L));
+        assertThat(rebuilt).hasSize(1);
+        assertThat(rebuilt.get(0).isRebuilt()).isTrue();
+        assertThat(dailySalesService.getDailySales(SALES_DATE))
+                .extracting("productNumber", "quantity", "revenue")
+                .containsExactly(
+                        tuple("001", 6L, 6000L),
+                        tuple("002", 1L, 3000L)
+                );
+        assertThat(dailySalesRebuildService.verify(SALES_DATE).getMismatches()).isEmpty();
+    }
+
+    private void changeOrderStatus(Long orderId, OrderStatus target) {
+        OrderStatusChangeRequest request = OrderStatusChangeRequest.builder()
+                .orderId(orderId)
+                .orderStatus(target)
+                .build();
+        orderStatusService.changeOrderStatus(List.of(request), LocalDateTime.now());
+    }
+
+    private OrderCreateRequest createRequest(String... productNumbers) {
+        return OrderCreateRequest.builder()
+                .productNumbers(List.of(productNumbers))
+                .build();
+    }
+
+    private Product createProduct(String productNumber, int price) {
+        return Product.builder()
+                .type(HANDMADE)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+}
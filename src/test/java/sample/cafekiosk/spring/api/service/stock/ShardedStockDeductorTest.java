@@ -0,0 +1,171 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.domain.stock.StockShard;
+import sample.cafekiosk.spring.domain.stock.StockShardRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.stock.deduction-mode=sharded",
+        "cafekiosk.stock.sharded.shard-counts=001:4"
+})
+class ShardedStockDeductorTest {
+
+    @Autowired
+    private ShardedStockDeductor shardedStockDeductor;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockShardRepository stockShardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+        stockShardRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("샤드를 지정한 상품은 처음 차감할 때 stock 재고를 샤드로 나누고, 전체 재고는 샤드 합으로 읽는다.")
+    void splitOnFirstDeduction() {
+        // given
+        stockRepository.saveAll(List.of(Stock.create("001", 10), Stock.create("002", 5)));
+
+        // when
+        deduct(Map.of("001", 3, "002", 2));
+
+        // then
+        assertThat(stockShardRepository.findAll()).hasSize(4)
+                .extracting(StockShard::getQuantity)
+                .containsExactlyInAnyOrder(2, 2, 2, 1);
+        assertThat(shardedStockDeductor.getQuantity("001")).isEqualTo(7);
+        assertThat(shardedStockDeductor.getQuantity("002")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("고른 샤드가 모자라면 다른 샤드에서, 어느 샤드로도 모자라면 샤드를 합쳐서 차감한다.")
+    void fallBackToOtherShards() {
+        // given
+        stockRepository.save(Stock.create("001", 8)); // 샤드마다 2개
+        deduct(Map.of("001", 1));
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            deduct(Map.of("001", 2));
+        }
+        deduct(Map.of("001", 1));
+
+        // then
+        assertThat(shardedStockDeductor.getQuantity("001")).isZero();
+    }
+
+    @Test
+    @DisplayName("주문 상품 중 하나라도 모자라면 샤드에서 뺀 것도 되돌린다.")
+    void deductWithShortage() {
+        // given
+        stockRepository.saveAll(List.of(Stock.create("001", 10), Stock.create("002", 1)));
+
+        // when // then
+        assertThatThrownBy(() -> shardedStockDeductor.deduct(Map.of("001", 3, "002", 2)))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessage("재고가 부족한 상품이 있습니다.");
+        assertThat(shardedStockDeductor.getQuantity("001")).isEqualTo(10);
+        assertThat(shardedStockDeductor.getQuantity("002")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("반환한 수량은 샤드에 더해진다.")
+    void restore() {
+        // given
+        stockRepository.save(Stock.create("001", 10));
+        deduct(Map.of("001", 4));
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> shardedStockDeductor.restore(Map.of("001", 4)));
+
+        // then
+        assertThat(shardedStockDeductor.getQuantity("001")).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("동시에 차감해도 재고보다 많이 팔리지 않는다.")
+    void deductConcurrently() throws InterruptedException {
+        // given
+        stockRepository.save(Stock.create("001", 100));
+        deduct(Map.of("001", 1));
+        AtomicInteger succeeded = new AtomicInteger();
+
+        // when
+        try (ExecutorService executorService = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 200; i++) {
+                executorService.submit(() -> {
+                    try {
+                        deduct(Map.of("001", 1));
+                        succeeded.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        // 재고 소진
+                    }
+                });
+            }
+        }
+
+        // then
+        assertThat(succeeded.get()).isEqualTo(99);
+        assertThat(shardedStockDeductor.getQuantity("001")).isZero();
+    }
+
+    @Test
+    @DisplayName("일괄 주문 두 건이 상품을 서로 반대 순서로 담아 동시에 들어와도, 상품번호 순으로 먼저 잠그므로 교착되지 않는다.")
+    void deductEachInOppositeOrders() throws Exception {
+        // given
+        stockRepository.saveAll(List.of(Stock.create("001", 100), Stock.create("002", 100)));
+        deduct(Map.of("001", 1)); // 샤드로 나눈다.
+        List<Map<String, Integer>> batch1 = List.of(Map.of("001", 1), Map.of("002", 1));
+        List<Map<String, Integer>> batch2 = List.of(Map.of("002", 1), Map.of("001", 1));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // when
+        List<Future<List<List<String>>>> futures = new ArrayList<>();
+        try (ExecutorService executorService = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 20; i++) {
+                List<Map<String, Integer>> batch = i % 2 == 0 ? batch1 : batch2;
+                futures.add(executorService.submit(() -> transactionTemplate.execute(status -> shardedStockDeductor.deductEach(batch))));
+            }
+        }
+
+        // then
+        for (Future<List<List<String>>> future : futures) {
+            assertThat(future.get()).containsOnly(List.of());
+        }
+        assertThat(shardedStockDeductor.getQuantity("001")).isEqualTo(79);
+        assertThat(shardedStockDeductor.getQuantity("002")).isEqualTo(80);
+    }
+
+    private void deduct(Map<String, Integer> quantities) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> shardedStockDeductor.deduct(quantities));
+    }
+}
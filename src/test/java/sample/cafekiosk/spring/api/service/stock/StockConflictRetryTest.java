@@ -0,0 +1,131 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.domain.stock.StockReservationRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.stock.deduction-mode=optimistic",
+        "cafekiosk.stock.optimistic.max-attempts=100",
+        "cafekiosk.stock.optimistic.backoff-ms=2",
+        "cafekiosk.stock.optimistic.max-backoff-ms=20"
+})
+class StockConflictRetryTest {
+
+    @Autowired
+    private StockConflictRetry stockConflictRetry;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OptimisticStockDeductor optimisticStockDeductor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        stockReservationRepository.deleteAllInBatch();
+        dailySalesRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("같은 상품의 주문이 동시에 들어와 버전이 충돌하면 주문 트랜잭션을 다시 실행해 모두 처리한다.")
+    void retryWholeOrderOnConflict() throws Exception {
+        // given
+        int orderCount = 10;
+        productRepository.save(Product.builder()
+                .productNumber("001")
+                .type(BOTTLE)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .price(1000)
+                .build());
+        stockRepository.save(Stock.create("001", orderCount));
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+
+        // when
+        ExecutorService executorService = Executors.newFixedThreadPool(orderCount);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < orderCount; i++) {
+            futures.add(executorService.submit(() ->
+                    stockConflictRetry.execute(() -> orderService.createOrder(request, LocalDateTime.now()))));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+
+        // then
+        assertThat(orderRepository.count()).isEqualTo(orderCount);
+        assertThat(stockRepository.findAll())
+                .extracting("quantity")
+                .containsExactly(0);
+    }
+
+    @Test
+    @DisplayName("차감은 주문 트랜잭션 안에서 하므로, 주문이 롤백되면 차감도 함께 롤백된다.")
+    void rollbackWithOrderTransaction() {
+        // given
+        stockRepository.save(Stock.create("001", 5));
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            optimisticStockDeductor.deduct(Map.of("001", 2));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(stockRepository.findAll())
+                .extracting("quantity")
+                .containsExactly(5);
+    }
+}
@@ -0,0 +1,140 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 재고 차감 방식별 처리량 비교. ./gradlew benchmark 로만 실행된다.
+ *
+ * hotRatio: 주문이 인기 상품(001) 하나에 몰리는 비율. 나머지는 다른 상품들에 고르게 흩어진다.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class StockDeductionBenchmark {
+
+    private static final int PRODUCT_COUNT = 20;
+    private static final int ORDERS_PER_RUN = 2_000;
+    private static final int[] THREAD_COUNTS = {1, 8, 32};
+    private static final double[] HOT_RATIOS = {0.0, 0.5, 0.9};
+
+    @Autowired
+    private List<StockDeductor> deductors;
+
+    @Autowired
+    private StockConflictRetry stockConflictRetry;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void compareDeductionModes() throws InterruptedException {
+        TransactionTemplate orderTransaction = new TransactionTemplate(transactionManager);
+
+        System.out.printf("%-12s %8s %8s %12s %10s %10s%n", "mode", "threads", "hot", "orders/sec", "retry", "failed");
+        for (StockDeductor deductor : deductors) {
+            for (int threadCount : THREAD_COUNTS) {
+                for (double hotRatio : HOT_RATIOS) {
+                    seedStocks();
+                    long retriesBefore = stockConflictRetry.getRetryCount();
+
+                    Result result = run(orderTransaction, deductor, threadCount, hotRatio);
+
+                    double retryRate = (double) (stockConflictRetry.getRetryCount() - retriesBefore) / ORDERS_PER_RUN;
+                    System.out.printf("%-12s %8d %8.1f %12.0f %10.3f %10d%n",
+                            deductor.getMode(), threadCount, hotRatio, result.ordersPerSecond(), retryRate, result.failed());
+                    assertThat(remainingQuantity()).isEqualTo(PRODUCT_COUNT * ORDERS_PER_RUN - result.succeeded());
+
+                    stockRepository.deleteAllInBatch();
+                }
+            }
+        }
+    }
+
+    private Result run(TransactionTemplate orderTransaction, StockDeductor deductor, int threadCount, double hotRatio) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(ORDERS_PER_RUN);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < ORDERS_PER_RUN; i++) {
+            executorService.submit(() -> {
+                try {
+                    String productNumber = pickProductNumber(hotRatio);
+                    if (deductor.getMode() == StockDeductionMode.OPTIMISTIC) { // 충돌하면 주문 트랜잭션을 통째로 다시 실행한다.
+                        stockConflictRetry.execute(() -> orderTransaction.execute(status -> {
+                            deductor.deduct(Map.of(productNumber, 1));
+                            return null;
+                        }));
+                    } else {
+                        orderTransaction.executeWithoutResult(status -> deductor.deduct(Map.of(productNumber, 1)));
+                    }
+                    succeeded.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet(); // direct 모드는 버전 충돌을 재시도하지 않는다.
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(5, TimeUnit.MINUTES);
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executorService.shutdown();
+
+        return new Result(succeeded.get(), failed.get(), ORDERS_PER_RUN / (elapsedNanos / 1_000_000_000.0));
+    }
+
+    private String pickProductNumber(double hotRatio) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < hotRatio) {
+            return "001";
+        }
+        return String.format("%03d", random.nextInt(PRODUCT_COUNT) + 1);
+    }
+
+    private void seedStocks() {
+        List<Stock> stocks = new ArrayList<>();
+        for (int i = 1; i <= PRODUCT_COUNT; i++) {
+            stocks.add(Stock.create(String.format("%03d", i), ORDERS_PER_RUN));
+        }
+        stockRepository.saveAll(stocks);
+    }
+
+    private int remainingQuantity() {
+        return stockRepository.findAll().stream()
+                .mapToInt(Stock::getQuantity)
+                .sum();
+    }
+
+    private record Result(int succeeded, int failed, double ordersPerSecond) {
+    }
+}
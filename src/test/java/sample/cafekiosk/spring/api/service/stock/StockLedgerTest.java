@@ -0,0 +1,215 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockLedgerJournalRepository;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.AssertionsForClassTypes.tuple;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.stock.deduction-mode=ledger",
+        "cafekiosk.stock.ledger.flush-interval-ms=3600000" // 테스트가 직접 flush 한다.
+})
+class StockLedgerTest {
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockLedgerJournalRepository stockLedgerJournalRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+        stockLedgerJournalRepository.deleteAllInBatch();
+        stockLedger.rebuild();
+    }
+
+    @Test
+    @DisplayName("원장에서 재고를 차감하고 flush 하면 stock 테이블에 반영된다.")
+    void deductAndFlush() {
+        // given
+        stockRepository.saveAll(List.of(Stock.create("001", 5), Stock.create("002", 3)));
+        stockLedger.rebuild();
+
+        // when
+        stockLedger.deduct(Map.of("001", 2, "002", 3));
+        stockLedger.flush();
+
+        // then
+        assertThat(stockRepository.findAll()).hasSize(2)
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 3),
+                        tuple("002", 0)
+                );
+    }
+
+    @Test
+    @DisplayName("주문 상품 중 하나라도 재고가 부족하면 어떤 상품도 차감하지 않는다.")
+    void deductWithShortage() {
+        // given
+        stockRepository.saveAll(List.of(Stock.create("001", 5), Stock.create("002", 1)));
+        stockLedger.rebuild();
+
+        // when // then
+        assertThatThrownBy(() -> stockLedger.deduct(Map.of("001", 2, "002", 2)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족한 상품이 있습니다.");
+        assertThat(stockLedger.getQuantity("001")).isEqualTo(5);
+        assertThat(stockLedger.getQuantity("002")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("기동 이후 등록된 재고는 처음 조회할 때 stock 테이블에서 읽어온다.")
+    void loadMissingStock() {
+        // given
+        stockRepository.save(Stock.create("001", 4));
+
+        // when
+        stockLedger.deduct(Map.of("001", 1));
+
+        // then
+        assertThat(stockLedger.getQuantity("001")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("동시에 차감해도 재고보다 많이 팔지 않는다.")
+    void deductConcurrently() throws InterruptedException {
+        // given
+        stockRepository.save(Stock.create("001", 100));
+        stockLedger.rebuild();
+
+        int requestCount = 300;
+        AtomicInteger successCount = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    stockLedger.deduct(Map.of("001", 1));
+                    successCount.incrementAndGet();
+                } catch (IllegalArgumentException ignored) {
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+        stockLedger.flush();
+
+        // then
+        assertThat(successCount.get()).isEqualTo(100);
+        assertThat(stockLedger.getQuantity("001")).isZero();
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 0));
+    }
+
+    @Test
+    @DisplayName("차감은 주문 트랜잭션 안에서 저널에 남으므로, 주문이 롤백되면 저널과 원장 모두 되돌아간다.")
+    void rollbackWithOrderTransaction() {
+        // given
+        stockRepository.save(Stock.create("001", 5));
+        stockLedger.rebuild();
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            stockLedger.deduct(Map.of("001", 2));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(stockLedgerJournalRepository.count()).isZero();
+        assertThat(stockLedger.getQuantity("001")).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("flush 전에 서버가 내려가도 커밋된 차감은 저널에 남아 있어, 다시 만든 원장이 같은 재고를 또 팔지 않는다.")
+    void rebuildWithUnflushedJournal() {
+        // given
+        stockRepository.save(Stock.create("001", 5));
+        stockLedger.rebuild();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> stockLedger.deduct(Map.of("001", 2)));
+
+        // when
+        stockLedger.rebuild(); // flush 없이 재기동
+
+        // then
+        assertThat(stockLedger.getQuantity("001")).isEqualTo(3);
+        assertThat(stockRepository.findAll())
+                .extracting("quantity")
+                .containsExactly(5);
+
+        stockLedger.flush();
+        assertThat(stockLedgerJournalRepository.count()).isZero();
+        assertThat(stockRepository.findAll())
+                .extracting("quantity")
+                .containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("flush 는 차감한 수량만큼 더하므로 그 사이 stock 테이블의 다른 변경을 덮어쓰지 않는다.")
+    void flushKeepsOtherChanges() {
+        // given
+        stockRepository.save(Stock.create("001", 5));
+        stockLedger.rebuild();
+        stockLedger.deduct(Map.of("001", 2));
+        jdbcTemplate.update("update stock set quantity = quantity + 10 where product_number = ?", "001");
+
+        // when
+        stockLedger.flush();
+
+        // then
+        assertThat(stockRepository.findAll())
+                .extracting("quantity")
+                .containsExactly(13);
+    }
+
+    @Test
+    @DisplayName("다른 서버가 원장을 들고 있으면 ledger 모드로 기동할 수 없다.")
+    void rebuildWhileOtherServerHoldsLease() {
+        // given
+        stockLedger.rebuild(); // 이 서버가 원장을 들고 있다.
+        StockLedger otherServer = new StockLedger(jdbcTemplate, transactionManager, 30);
+
+        // when // then
+        assertThatThrownBy(otherServer::rebuild)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("다른 서버가 ledger 모드로 재고 원장을 쓰고 있습니다. ledger 모드는 서버 한 대에서만 켤 수 있습니다.");
+        assertThatThrownBy(() -> otherServer.deduct(Map.of("001", 1)))
+                .isInstanceOf(StockLedgerUnavailableException.class); // 503
+    }
+}
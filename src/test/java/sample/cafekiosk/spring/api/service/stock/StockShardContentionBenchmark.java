@@ -0,0 +1,124 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.domain.stock.StockShardRepository;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 인기 상품 하나에 주문이 몰릴 때, 재고를 몇 개 샤드로 나누느냐에 따른 처리량. ./gradlew benchmark 로만 실행된다.
+ *
+ * 샤드 수마다 다른 상품번호를 쓴다. (S01 은 샤드 1개 = 나누지 않은 stock 한 행과 같은 경합)
+ * 주문 트랜잭션이 재고 차감 뒤에도 잠시 이어지는 상황을 HOLD_MILLIS 로 흉내 낸다. 락을 잡고 있는 시간이 길수록 샤드 효과가 커진다.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "cafekiosk.stock.deduction-mode=sharded",
+        "cafekiosk.stock.sharded.shard-counts=S01:1,S02:2,S04:4,S08:8,S16:16,S32:32"
+})
+class StockShardContentionBenchmark {
+
+    private static final String[] PRODUCT_NUMBERS = {"S01", "S02", "S04", "S08", "S16", "S32"};
+    private static final int[] THREAD_COUNTS = {8, 32, 64};
+    private static final int ORDERS_PER_RUN = 3_000;
+    private static final long HOLD_MILLIS = 2;
+
+    @Autowired
+    private ShardedStockDeductor shardedStockDeductor;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockShardRepository stockShardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+        stockShardRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void throughputByShardCount() throws InterruptedException {
+        TransactionTemplate orderTransaction = new TransactionTemplate(transactionManager);
+
+        System.out.printf("%-8s %8s %8s %12s %10s%n", "product", "shards", "threads", "orders/sec", "failed");
+        for (String productNumber : PRODUCT_NUMBERS) {
+            for (int threadCount : THREAD_COUNTS) {
+                int initialQuantity = ORDERS_PER_RUN * 2; // 측정 중에 샤드가 비어서 다시 나누는 경로로 빠지지 않게 넉넉히
+                stockRepository.save(Stock.create(productNumber, initialQuantity));
+                orderTransaction.executeWithoutResult(status -> shardedStockDeductor.deduct(Map.of(productNumber, 1))); // 샤드로 나눈다.
+
+                Result result = run(orderTransaction, productNumber, threadCount);
+
+                System.out.printf("%-8s %8d %8d %12.0f %10d%n",
+                        productNumber, shardedStockDeductor.getShardCount(productNumber), threadCount, result.ordersPerSecond(), result.failed());
+                assertThat(shardedStockDeductor.getQuantity(productNumber)).isEqualTo(initialQuantity - 1 - result.succeeded());
+
+                stockRepository.deleteAllInBatch();
+                stockShardRepository.deleteAllInBatch();
+            }
+        }
+    }
+
+    private Result run(TransactionTemplate orderTransaction, String productNumber, int threadCount) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(ORDERS_PER_RUN);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < ORDERS_PER_RUN; i++) {
+            executorService.submit(() -> {
+                try {
+                    orderTransaction.executeWithoutResult(status -> {
+                        shardedStockDeductor.deduct(Map.of(productNumber, 1));
+                        hold();
+                    });
+                    succeeded.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet(); // 락 대기 시간 초과
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(5, TimeUnit.MINUTES);
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executorService.shutdown();
+
+        return new Result(succeeded.get(), failed.get(), ORDERS_PER_RUN / (elapsedNanos / 1_000_000_000.0));
+    }
+
+    private void hold() {
+        try {
+            Thread.sleep(HOLD_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Result(int succeeded, int failed, double ordersPerSecond) {
+    }
+}
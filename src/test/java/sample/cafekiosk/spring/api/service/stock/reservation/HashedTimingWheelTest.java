@@ -0,0 +1,101 @@
+package sample.cafekiosk.spring.api.service.stock.reservation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashedTimingWheelTest {
+
+    @Test
+    @DisplayName("만료 시각이 지난 tick 에 키를 돌려주고, 아직 남은 키는 돌려주지 않는다.")
+    void advanceTo() {
+        // given
+        HashedTimingWheel<Long> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.schedule(1L, 250);
+        wheel.schedule(2L, 300);
+        wheel.schedule(3L, 5_000); // 한 바퀴(800ms)보다 멀다.
+
+        // when // then
+        assertThat(wheel.advanceTo(200)).isEmpty();
+        assertThat(wheel.advanceTo(300)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(wheel.advanceTo(4_900)).isEmpty();
+        assertThat(wheel.advanceTo(5_000)).containsExactly(3L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("취소한 키는 만료되지 않고, 같은 키로 다시 등록하면 나중 시각으로 만료된다.")
+    void cancelAndReschedule() {
+        // given
+        HashedTimingWheel<Long> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.schedule(1L, 100);
+        wheel.schedule(2L, 100);
+        wheel.schedule(2L, 1_000);
+
+        // when
+        boolean cancelled = wheel.cancel(1L);
+
+        // then
+        assertThat(cancelled).isTrue();
+        assertThat(wheel.advanceTo(500)).isEmpty();
+        assertThat(wheel.advanceTo(1_000)).containsExactly(2L);
+        assertThat(wheel.cancel(2L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("이미 지난 시각으로 등록하면 다음 tick 에 바로 만료된다.")
+    void scheduleInThePast() {
+        // given
+        HashedTimingWheel<Long> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.advanceTo(1_000);
+
+        // when
+        wheel.schedule(1L, 0);
+
+        // then
+        assertThat(wheel.advanceTo(1_100)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("등록된 키가 많아도 모두 만료 시각 이후, tick 하나 안에 만료된다.")
+    void manyTimeouts() {
+        // given
+        HashedTimingWheel<Long> wheel = new HashedTimingWheel<>(10, 512, 0);
+        int count = 200_000;
+        for (long key = 0; key < count; key++) {
+            wheel.schedule(key, key % 60_000);
+        }
+
+        // when
+        List<Long> late = new ArrayList<>();
+        int expiredCount = 0;
+        for (long now = 0; now <= 60_000; now += 7) {
+            for (Long key : wheel.advanceTo(now)) {
+                expiredCount++;
+                long deadline = key % 60_000;
+                if (deadline > now || now - deadline > 10 + 7) {
+                    late.add(key);
+                }
+            }
+        }
+
+        // then
+        assertThat(expiredCount).isEqualTo(count);
+        assertThat(late).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("wheel 크기는 2의 거듭제곱이어야 한다.")
+    void wheelSizeMustBePowerOfTwo() {
+        // when // then
+        assertThatThrownBy(() -> new HashedTimingWheel<Long>(100, 100, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("wheel 크기는 2의 거듭제곱이어야 합니다.");
+    }
+}
@@ -0,0 +1,217 @@
+package sample.cafekiosk.spring.api.service.stock.reservation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderLineRequest;
+import sample.cafekiosk.spring.api.controller.order.request.order.OrderStatusChangeRequest;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.OrderStatusService;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.sales.DailySalesService;
+import sample.cafekiosk.spring.api.service.sales.response.DailySalesResponse;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.domain.stock.StockReservationRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.CANCELED;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.PAYMENT_COMPLETED;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.PAYMENT_FAILED;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+import static sample.cafekiosk.spring.domain.stock.StockReservationStatus.CONFIRMED;
+import static sample.cafekiosk.spring.domain.stock.StockReservationStatus.RELEASED;
+import static sample.cafekiosk.spring.domain.stock.StockReservationStatus.RESERVED;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.stock.reservation.ttl-seconds=2",
+        "cafekiosk.stock.reservation.tick-ms=50"
+})
+class StockReservationServiceTest {
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private DailySalesService dailySalesService;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        stockReservationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("주문을 만들면 재고를 차감하고 예약으로 남기며, 결제가 완료되면 예약을 확정한다.")
+    void confirmOnPaymentCompleted() {
+        // given
+        OrderResponse order = createOrderWithStock("001", 5, 2);
+
+        // when
+        changeOrderStatus(order.getId(), PAYMENT_COMPLETED);
+
+        // then
+        assertThat(stockReservationRepository.findAllByOrderIdIn(List.of(order.getId())))
+                .extracting("productNumber", "quantity", "status")
+                .containsExactly(tuple("001", 2, CONFIRMED));
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 3));
+    }
+
+    @Test
+    @DisplayName("결제에 실패하면 예약한 재고를 돌려준다.")
+    void releaseOnPaymentFailed() {
+        // given
+        OrderResponse order = createOrderWithStock("001", 5, 2);
+
+        // when
+        changeOrderStatus(order.getId(), PAYMENT_FAILED);
+
+        // then
+        assertThat(stockReservationRepository.findAllByOrderIdIn(List.of(order.getId())))
+                .extracting("status")
+                .containsExactly(RELEASED);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 5));
+    }
+
+    @Test
+    @DisplayName("결제 후 취소해도 확정된 재고를 돌려준다.")
+    void releaseOnCanceledAfterPayment() {
+        // given
+        OrderResponse order = createOrderWithStock("001", 5, 2);
+        changeOrderStatus(order.getId(), PAYMENT_COMPLETED);
+
+        // when
+        changeOrderStatus(order.getId(), CANCELED);
+
+        // then
+        assertThat(stockReservationRepository.findAllByOrderIdIn(List.of(order.getId())))
+                .extracting("status")
+                .containsExactly(RELEASED);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 5));
+    }
+
+    @Test
+    @DisplayName("ttl 안에 결제되지 않은 주문은 취소되고 예약한 재고가 돌아온다.")
+    void releaseOnExpiry() throws InterruptedException {
+        // given
+        OrderResponse order = createOrderWithStock("001", 5, 2);
+        assertThat(stockReservationRepository.findAllByOrderIdIn(List.of(order.getId())))
+                .extracting("status")
+                .containsExactly(RESERVED);
+        long soldQuantity = getSoldQuantity("001");
+
+        // when
+        waitUntilReleased(order.getId());
+
+        // then
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getOrderStatus()).isEqualTo(CANCELED);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 5));
+        assertThat(getSoldQuantity("001")).isEqualTo(soldQuantity - 2); // 만료로 취소된 주문은 판매 집계에서도 빠진다.
+    }
+
+    @Test
+    @DisplayName("기동 시 남아 있는 예약은 만료 타이머를 다시 건다.")
+    void reload() throws InterruptedException {
+        // given
+        OrderResponse order = createOrderWithStock("001", 5, 2);
+        int pendingCount = stockReservationService.getPendingCount();
+
+        // when
+        stockReservationService.reload();
+
+        // then
+        assertThat(stockReservationService.getPendingCount()).isEqualTo(pendingCount); // 같은 주문은 다시 걸어도 하나
+        waitUntilReleased(order.getId());
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 5));
+    }
+
+    private OrderResponse createOrderWithStock(String productNumber, int stockQuantity, int orderQuantity) {
+        productRepository.save(Product.builder()
+                .productNumber(productNumber)
+                .type(BOTTLE)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .price(1000)
+                .build());
+        stockRepository.save(Stock.create(productNumber, stockQuantity));
+
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .orderLines(List.of(OrderLineRequest.builder().productNumber(productNumber).quantity(orderQuantity).build()))
+                .build();
+        return orderService.createOrder(request, LocalDateTime.now());
+    }
+
+    private void changeOrderStatus(Long orderId, OrderStatus target) {
+        OrderStatusChangeRequest request = OrderStatusChangeRequest.builder()
+                .orderId(orderId)
+                .orderStatus(target)
+                .build();
+        orderStatusService.changeOrderStatus(List.of(request), LocalDateTime.now());
+    }
+
+    private long getSoldQuantity(String productNumber) {
+        // 다른 테스트가 오늘 날짜로 남긴 집계가 있을 수 있어 차이로 본다.
+        return dailySalesService.getDailySales(LocalDate.now()).stream()
+                .filter(dailySales -> dailySales.getProductNumber().equals(productNumber))
+                .mapToLong(DailySalesResponse::getQuantity)
+                .sum();
+    }
+
+    private void waitUntilReleased(Long orderId) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            boolean released = stockReservationRepository.findAllByOrderIdIn(List.of(orderId)).stream()
+                    .allMatch(reservation -> reservation.getStatus() == RELEASED);
+            if (released) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("예약이 만료되지 않았습니다.");
+    }
+}
@@ -0,0 +1,115 @@
+package sample.cafekiosk.spring.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+/**
+ * H2 두 개(primary, replica)로 라우팅을 확인한다. replica 에는 복제 대신 테이블과 데이터를 직접 넣는다.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.datasource.replica.jdbc-url=jdbc:h2:mem:cafeKioskReplica;DB_CLOSE_DELAY=-1",
+        "cafekiosk.datasource.replica.username=sa"
+})
+class DataSourceConfigTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table if not exists product ("
+                + "id bigint not null, created_date_time timestamp(6), modified_date_time timestamp(6), "
+                + "name varchar(255), price integer not null, product_number varchar(255), "
+                + "selling_status varchar(255), type varchar(255), primary key (id))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.update("delete from product");
+        replica.update("delete from product");
+    }
+
+    @Test
+    @DisplayName("상품 등록은 primary 에 쓰고, 판매 상품 페이지 조회(readOnly)는 replica 에서 읽는다.")
+    void routeByReadOnly() {
+        // given
+        replica.update("insert into product (id, product_number, type, selling_status, name, price) "
+                + "values (1000, '900', 'HANDMADE', 'SELLING', '복제본 메뉴', 4000)");
+        ProductCreateRequest request = ProductCreateRequest.builder()
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("카푸치노")
+                .price(5000)
+                .build();
+
+        // when
+        ProductResponse created = productService.createProduct(request);
+        List<ProductResponse> sellingProducts = productService.getSellingProducts(null, 20).getContent();
+
+        // then
+        assertThat(primary.queryForList("select product_number from product", String.class))
+                .containsExactly(created.getProductNumber());
+        assertThat(replica.queryForList("select product_number from product", String.class))
+                .containsExactly("900");
+        assertThat(sellingProducts)
+                .extracting("productNumber", "name")
+                .containsExactly(tuple("900", "복제본 메뉴"));
+    }
+
+    @Test
+    @DisplayName("캐시하는 판매 상품 목록은 replica 가 늦더라도 primary 에서 읽어 새 카탈로그 버전과 맞춘다.")
+    void cachedSellingProductsReadFromPrimary() {
+        // given
+        replica.update("insert into product (id, product_number, type, selling_status, name, price) "
+                + "values (1000, '900', 'HANDMADE', 'SELLING', '복제본 메뉴', 4000)"); // 아직 새 상품이 복제되지 않은 replica
+        ProductCreateRequest request = ProductCreateRequest.builder()
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("카푸치노")
+                .price(5000)
+                .build();
+
+        // when
+        ProductResponse created = productService.createProduct(request);
+        String eTag = productService.getSellingProductsETag();
+        List<ProductResponse> sellingProducts = productService.getSellingProducts();
+
+        // then
+        assertThat(sellingProducts)
+                .extracting("productNumber", "name")
+                .containsExactly(tuple(created.getProductNumber(), "카푸치노"));
+        assertThat(productService.getSellingProductsETag()).isEqualTo(eTag);
+    }
+}
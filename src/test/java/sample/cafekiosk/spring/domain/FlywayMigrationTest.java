@@ -0,0 +1,85 @@
+package sample.cafekiosk.spring.domain;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * test 프로필은 ddl-auto 로 스키마를 만들기 때문에, 마이그레이션은 여기서만 돌려 엔티티와 맞는지 본다.
+ * 컨텍스트는 마이그레이션을 모두 적용한 빈 DB 에 ddl-auto: validate 로 뜬다. 맞지 않으면 기동에 실패한다.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cafeKioskFlyway;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class FlywayMigrationTest {
+
+    private static final String EXISTING_DATABASE_URL = "jdbc:h2:mem:cafeKioskFlywayExisting;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("빈 DB 에 마이그레이션을 모두 적용하면 엔티티와 스키마가 맞고, 시퀀스로 id 를 받아 저장할 수 있다.")
+    void migrateEmptyDatabase() {
+        // when
+        Stock savedStock = stockRepository.save(Stock.create("001", 5));
+
+        // then
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(savedStock.getId()).isNotNull();
+        assertThat(savedStock.getVersion()).isZero();
+    }
+
+    @Test
+    @DisplayName("ddl-auto 로 만들어 쓰던 DB 에 적용하면 V1 을 건너뛰고, 기존 재고의 버전은 0 이 되며 새 id 는 기존 id 와 겹치지 않는다.")
+    void migrateExistingDatabase() {
+        // given
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(EXISTING_DATABASE_URL, "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__init.sql")).execute(dataSource);
+        JdbcTemplate existing = new JdbcTemplate(dataSource);
+        existing.update("insert into orders (id, total_price) values (120, 0)");
+        existing.update("insert into stock (id, product_number, quantity) values (7, '001', 5)");
+
+        // when
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        // then
+        assertThat(existing.queryForList("select version from stock", Long.class)).containsExactly(0L);
+        assertThat(existing.queryForObject(
+                "select is_nullable from information_schema.columns where table_name = 'STOCK' and column_name = 'VERSION'",
+                String.class)).isEqualTo("NO");
+        // pooled 시퀀스 값 v 로 Hibernate 는 (v - 49 ~ v) 를 쓴다.
+        assertThat(existing.queryForObject("select next value for orders_seq", Long.class) - 49).isGreaterThan(120);
+        assertThat(existing.queryForObject("select next value for stock_seq", Long.class) - 49).isGreaterThan(7);
+        assertThat(existing.queryForObject("select count(*) from daily_sales", Long.class)).isZero();
+    }
+}
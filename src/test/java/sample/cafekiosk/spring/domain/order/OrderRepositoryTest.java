@@ -0,0 +1,155 @@
+package sample.cafekiosk.spring.domain.order;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("지연 로딩으로 주문 응답을 만들면 주문상품 수만큼 쿼리가 늘어난다.")
+    void lazyLoadingCausesNPlusOne() {
+        // given
+        Long orderId = saveOrderWithProducts(20);
+
+        // when
+        long statementCount = countStatements(() -> OrderResponse.of(orderRepository.findById(orderId).orElseThrow()));
+
+        // then
+        assertThat(statementCount).isGreaterThan(20);
+    }
+
+    @Test
+    @DisplayName("엔티티 그래프로 주문을 조회하면 주문상품 수와 상관없이 쿼리가 한 번 나간다.")
+    void findWithProductsById() {
+        // given
+        Long orderId = saveOrderWithProducts(20);
+
+        // when
+        OrderResponse[] response = new OrderResponse[1];
+        long statementCount = countStatements(() ->
+                response[0] = OrderResponse.of(orderRepository.findWithProductsById(orderId).orElseThrow()));
+
+        // then
+        assertThat(statementCount).isEqualTo(1);
+        assertThat(response[0].getProducts()).hasSize(20);
+    }
+
+    @Test
+    @DisplayName("fetch join 으로 여러 주문을 조회해도 쿼리가 한 번 나간다.")
+    void findAllWithProductsByIdIn() {
+        // given
+        Long orderId1 = saveOrderWithProducts(20);
+        Long orderId2 = saveOrderWithProducts(21, 3); // 상품번호가 겹치지 않게 021 부터
+
+        // when
+        List<OrderResponse> responses = new ArrayList<>();
+        long statementCount = countStatements(() -> orderRepository.findAllWithProductsByIdIn(List.of(orderId1, orderId2))
+                .forEach(order -> responses.add(OrderResponse.of(order))));
+
+        // then
+        assertThat(statementCount).isEqualTo(1);
+        assertThat(responses)
+                .extracting(response -> response.getProducts().size())
+                .containsExactlyInAnyOrder(20, 3);
+    }
+
+    @Test
+    @DisplayName("DTO 조회로 주문 응답을 만들면 쿼리가 한 번 나간다.")
+    void findOrderProductRowsByOrderId() {
+        // given
+        Long orderId = saveOrderWithProducts(20);
+
+        // when
+        OrderResponse[] response = new OrderResponse[1];
+        long statementCount = countStatements(() ->
+                response[0] = OrderResponse.of(orderRepository.findOrderProductRowsByOrderId(orderId)));
+
+        // then
+        assertThat(statementCount).isEqualTo(1);
+        assertThat(response[0].getId()).isEqualTo(orderId);
+        assertThat(response[0].getTotalPrice()).isEqualTo(20 * 1000);
+        assertThat(response[0].getProducts()).hasSize(20)
+                .extracting("productNumber")
+                .startsWith("001", "002", "003");
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> action.run());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long saveOrderWithProducts(int productCount) {
+        return saveOrderWithProducts(1, productCount);
+    }
+
+    private Long saveOrderWithProducts(int firstNumber, int productCount) {
+        List<Product> products = new ArrayList<>();
+        for (int i = firstNumber; i < firstNumber + productCount; i++) {
+            products.add(Product.builder()
+                    .productNumber(String.format("%03d", i))
+                    .type(HANDMADE)
+                    .sellingStatus(SELLING)
+                    .name("메뉴 " + i)
+                    .price(1000)
+                    .build());
+        }
+        productRepository.saveAll(products);
+        return orderRepository.save(Order.create(products, LocalDateTime.now())).getId();
+    }
+}
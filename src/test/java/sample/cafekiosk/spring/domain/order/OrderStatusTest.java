@@ -0,0 +1,29 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStatusTest {
+
+    @Test
+    @DisplayName("주문 상태는 정해진 순서로만 바뀔 수 있다.")
+    void canTransitionTo() {
+        assertThat(OrderStatus.INIT.canTransitionTo(OrderStatus.PAYMENT_COMPLETED)).isTrue();
+        assertThat(OrderStatus.PAYMENT_COMPLETED.canTransitionTo(OrderStatus.RECEIVED)).isTrue();
+        assertThat(OrderStatus.RECEIVED.canTransitionTo(OrderStatus.COMPLETED)).isTrue();
+
+        assertThat(OrderStatus.INIT.canTransitionTo(OrderStatus.COMPLETED)).isFalse();
+        assertThat(OrderStatus.COMPLETED.canTransitionTo(OrderStatus.RECEIVED)).isFalse();
+        assertThat(OrderStatus.RECEIVED.canTransitionTo(OrderStatus.RECEIVED)).isFalse();
+    }
+
+    @Test
+    @DisplayName("접수 전까지만 주문을 취소할 수 있다.")
+    void cancel() {
+        assertThat(OrderStatus.INIT.canTransitionTo(OrderStatus.CANCELED)).isTrue();
+        assertThat(OrderStatus.PAYMENT_COMPLETED.canTransitionTo(OrderStatus.CANCELED)).isTrue();
+        assertThat(OrderStatus.RECEIVED.canTransitionTo(OrderStatus.CANCELED)).isFalse();
+    }
+}
@@ -0,0 +1,115 @@
+package sample.cafekiosk.spring.domain.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * product_number 유니크 인덱스가 있을 때와 없을 때 주문 경로 조회(findAllByProductNumberIn) 시간. ./gradlew benchmark 로만 실행된다.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ProductNumberIndexBenchmark {
+
+    private static final int ROW_COUNT = 1_000_000;
+    private static final int PRODUCTS_PER_ORDER = 5;
+    private static final int REPEAT = 20;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        addConstraints();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void lookupByProductNumber() {
+        insertProductsAndStocks();
+
+        dropConstraints();
+        long productScanNanos = measure(() -> productRepository.findAllByProductNumberIn(randomProductNumbers()));
+        long stockScanNanos = measure(() -> stockRepository.findAllByProductNumberIn(randomProductNumbers()));
+
+        addConstraints();
+        long productIndexNanos = measure(() -> productRepository.findAllByProductNumberIn(randomProductNumbers()));
+        long stockIndexNanos = measure(() -> stockRepository.findAllByProductNumberIn(randomProductNumbers()));
+
+        System.out.printf("rows=%d, 조회당 상품 %d개%n", ROW_COUNT, PRODUCTS_PER_ORDER);
+        System.out.printf("%8s %14s %14s%n", "table", "no index(us)", "unique(us)");
+        System.out.printf("%8s %14.1f %14.1f%n", "product", productScanNanos / 1_000.0, productIndexNanos / 1_000.0);
+        System.out.printf("%8s %14.1f %14.1f%n", "stock", stockScanNanos / 1_000.0, stockIndexNanos / 1_000.0);
+    }
+
+    private long measure(Runnable query) {
+        for (int i = 0; i < REPEAT; i++) {
+            query.run();
+        }
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            query.run();
+        }
+        return (System.nanoTime() - startedAt) / REPEAT;
+    }
+
+    private List<String> randomProductNumbers() {
+        List<String> productNumbers = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS_PER_ORDER; i++) {
+            productNumbers.add(productNumber(ThreadLocalRandom.current().nextInt(1, ROW_COUNT + 1)));
+        }
+        return productNumbers;
+    }
+
+    private void dropConstraints() {
+        jdbcTemplate.execute("alter table product drop constraint if exists uk_product_product_number");
+        jdbcTemplate.execute("alter table stock drop constraint if exists uk_stock_product_number");
+    }
+
+    private void addConstraints() {
+        dropConstraints();
+        jdbcTemplate.execute("alter table product add constraint uk_product_product_number unique (product_number)");
+        jdbcTemplate.execute("alter table stock add constraint uk_stock_product_number unique (product_number)");
+    }
+
+    private void insertProductsAndStocks() {
+        List<Object[]> products = new ArrayList<>();
+        List<Object[]> stocks = new ArrayList<>();
+        for (int i = 1; i <= ROW_COUNT; i++) {
+            products.add(new Object[]{i, productNumber(i), "BOTTLE", "SELLING", "메뉴 " + i, 1000});
+            stocks.add(new Object[]{i, productNumber(i), 100});
+            if (products.size() == 10_000) {
+                flush(products, stocks);
+            }
+        }
+        flush(products, stocks);
+    }
+
+    private void flush(List<Object[]> products, List<Object[]> stocks) {
+        jdbcTemplate.batchUpdate("insert into product (id, product_number, type, selling_status, name, price) values (?, ?, ?, ?, ?, ?)", products);
+        jdbcTemplate.batchUpdate("insert into stock (id, product_number, quantity, version) values (?, ?, ?, 0)", stocks);
+        products.clear();
+        stocks.clear();
+    }
+
+    private String productNumber(int i) {
+        return String.format("%07d", i);
+    }
+}
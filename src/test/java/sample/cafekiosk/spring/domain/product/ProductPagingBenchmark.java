@@ -0,0 +1,85 @@
+package sample.cafekiosk.spring.domain.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OFFSET 페이지와 keyset 페이지의 깊이별 조회 시간. ./gradlew benchmark 로만 실행된다.
+ *
+ * OFFSET 은 앞의 행을 모두 읽고 버리므로 뒤 페이지일수록 느려지고, keyset 은 id 인덱스에서 바로 시작하므로 깊이와 상관없다.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ProductPagingBenchmark {
+
+    private static final int PRODUCT_COUNT = 300_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int[] PAGE_NUMBERS = {0, 100, 1_000, 10_000};
+    private static final int REPEAT = 50;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void offsetVersusKeyset() {
+        insertProducts();
+        List<ProductSellingStatus> sellingStatuses = ProductSellingStatus.forDisplay();
+
+        System.out.printf("%8s %14s %14s%n", "page", "offset(us)", "keyset(us)");
+        for (int pageNumber : PAGE_NUMBERS) {
+            long offset = (long) pageNumber * PAGE_SIZE;
+            // 같은 페이지의 keyset 커서 = 그 앞 페이지 마지막 id
+            Long afterId = offset == 0 ? 0L : jdbcTemplate.queryForObject(
+                    "select id from product order by id limit 1 offset ?", Long.class, offset - 1);
+
+            long offsetNanos = measure(() -> jdbcTemplate.queryForList(
+                    "select id from product where selling_status in ('SELLING', 'HOLD') order by id limit ? offset ?",
+                    Long.class, PAGE_SIZE, offset));
+            long keysetNanos = measure(() -> productRepository.findAllBySellingStatusInAndIdGreaterThanOrderByIdAsc(
+                    sellingStatuses, afterId, Limit.of(PAGE_SIZE)));
+
+            System.out.printf("%8d %14.1f %14.1f%n", pageNumber, offsetNanos / 1_000.0, keysetNanos / 1_000.0);
+        }
+    }
+
+    private long measure(Runnable query) {
+        for (int i = 0; i < REPEAT; i++) {
+            query.run();
+        }
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < REPEAT; i++) {
+            query.run();
+        }
+        return (System.nanoTime() - startedAt) / REPEAT;
+    }
+
+    private void insertProducts() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= PRODUCT_COUNT; i++) {
+            rows.add(new Object[]{i, String.format("%06d", i), "HANDMADE", "SELLING", "메뉴 " + i, 1000});
+            if (rows.size() == 10_000) {
+                jdbcTemplate.batchUpdate("insert into product (id, product_number, type, selling_status, name, price) values (?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into product (id, product_number, type, selling_status, name, price) values (?, ?, ?, ?, ?, ?)", rows);
+    }
+}
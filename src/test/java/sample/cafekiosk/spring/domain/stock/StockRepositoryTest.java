@@ -3,6 +3,7 @@ package sample.cafekiosk.spring.domain.stock;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import sample.cafekiosk.spring.domain.product.Product;
@@ -10,8 +11,10 @@ import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductType;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.AssertionsForClassTypes.tuple;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
 
@@ -23,6 +26,9 @@ StockRepositoryTest {
     @Autowired
     private StockRepository stockRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
 
     @Test
     @DisplayName("상품번호 리스트로 재고를 조회한다.")
@@ -46,4 +52,27 @@ StockRepositoryTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("재고가 충분한 상품만 조건부 update 로 차감하고, 부족한 상품번호를 돌려준다.")
+    void deductAllIfEnough() {
+        // given
+        Stock stock1 = Stock.create("001", 2);
+        Stock stock2 = Stock.create("002", 1);
+        stockRepository.saveAllAndFlush(List.of(stock1, stock2));
+
+        // when
+        List<String> shortProductNumbers = stockRepository.deductAllIfEnough(Map.of("001", 2, "002", 2, "003", 1));
+
+        // then
+        assertThat(shortProductNumbers).containsExactly("002", "003");
+
+        entityManager.clear();
+        Assertions.assertThat(stockRepository.findAll()).hasSize(2)
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 0),
+                        tuple("002", 1)
+                );
+    }
+
+}
@@ -97,6 +97,26 @@ class CafeKioskTest {
         assertThat(totalPrice).isEqualTo(8500);
     }
 
+    @Test
+    @DisplayName("같은 음료를 여러 잔 담고 한 잔을 빼면, 잔 수와 총 금액이 한 잔만큼 줄어든다.")
+    void removeOneOfSeveralBeverages() {
+        // given
+        CafeKiosk cafeKiosk = new CafeKiosk();
+        Americano americano = new Americano();
+        Latte latte = new Latte();
+        cafeKiosk.add(americano, 3);
+        cafeKiosk.add(latte);
+
+        // when
+        cafeKiosk.remove(americano);
+
+        // then
+        assertThat(cafeKiosk.getBeverageCount()).isEqualTo(3);
+        assertThat(cafeKiosk.getQuantities()).containsEntry(americano, 2).containsEntry(latte, 1);
+        assertThat(cafeKiosk.calculateTotalPrice()).isEqualTo(12500);
+        assertThat(cafeKiosk.getBeverages()).containsExactly(americano, americano, latte);
+    }
+
     @Test
     void createOrder() {
         CafeKiosk cafeKiosk = new CafeKiosk();